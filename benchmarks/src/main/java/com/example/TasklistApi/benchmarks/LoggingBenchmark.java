@@ -0,0 +1,183 @@
+package com.example.TasklistApi.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.example.TasklistApi.config.LogSamplingFilter;
+import com.example.TasklistApi.controller.TaskController;
+import com.example.TasklistApi.service.AuditService;
+import com.example.TasklistApi.service.TaskService;
+import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the logging a create and a get request cause, from four request threads, under
+ * the previous defaults and the production logging mode:
+ *
+ * <ul>
+ *   <li>BEFORE: LOG_LEVEL=DEBUG, synchronous text and show-sql with format_sql (the formatted
+ *       statement printed to stdout)</li>
+ *   <li>SYNC_TEXT: INFO, synchronous text, no SQL echo</li>
+ *   <li>ASYNC_TEXT: INFO through the AsyncAppender</li>
+ *   <li>ASYNC_JSON_SAMPLED: as in k8s/deployment.yaml - async, JSON, 1% of the per-request lines</li>
+ * </ul>
+ *
+ * Lines go to a file (stdout too, for BEFORE) rather than the console, like the other
+ * benchmarks. At this rate the async queue is always full, so the async modes shed INFO lines
+ * as the application would under overload; what they measure is the cost on request threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String INSERT_SQL = "insert into tasks (created_at,created_by,description,due_date,status,"
+            + "title,updated_at,updated_by,version,id) values (?,?,?,?,?,?,?,?,?,default)";
+    private static final String SELECT_SQL = "select t1_0.id,t1_0.created_at,t1_0.created_by,t1_0.description,"
+            + "t1_0.due_date,t1_0.status,t1_0.title,t1_0.updated_at,t1_0.updated_by,t1_0.version "
+            + "from tasks t1_0 where t1_0.id=?";
+
+    private static final Logger controllerLogger = LoggerFactory.getLogger(TaskController.class);
+    private static final Logger serviceLogger = LoggerFactory.getLogger(TaskService.class);
+    private static final Logger auditLogger = LoggerFactory.getLogger(AuditService.class);
+
+    @Param({"BEFORE", "SYNC_TEXT", "ASYNC_TEXT", "ASYNC_JSON_SAMPLED"})
+    private String setting;
+
+    // Fields rather than literals so the messages are not folded at compile time
+    private String title = "Prepare quarterly report";
+    private String username = "alice";
+    private boolean echoSql;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setup() throws FileNotFoundException {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        boolean json = setting.equals("ASYNC_JSON_SAMPLED");
+        Encoder<ILoggingEvent> encoder;
+        if (json) {
+            StructuredLogEncoder structured = new StructuredLogEncoder();
+            structured.setFormat("ecs");
+            encoder = structured;
+        } else {
+            PatternLayoutEncoder pattern = new PatternLayoutEncoder();
+            pattern.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level --- [%15.15thread] %-40.40logger{39} : %msg%n");
+            encoder = pattern;
+        }
+        encoder.setContext(context);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(System.getProperty("java.io.tmpdir") + "/tasklist-benchmarks.log");
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (setting.startsWith("ASYNC")) {
+            // Same settings as logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+        if (json) {
+            LogSamplingFilter sampling = new LogSamplingFilter();
+            sampling.setLoggers("com.example.TasklistApi.controller,com.example.TasklistApi.service.TaskService,"
+                    + "com.example.TasklistApi.service.AuditService");
+            sampling.setRate(0.01);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.WARN);
+        root.addAppender(appender);
+        context.getLogger("com.example.TasklistApi").setLevel(setting.equals("BEFORE") ? Level.DEBUG : Level.INFO);
+
+        echoSql = setting.equals("BEFORE");
+        if (echoSql) {
+            originalOut = System.out;
+            System.setOut(new PrintStream(new FileOutputStream(System.getProperty("java.io.tmpdir")
+                    + "/tasklist-benchmarks-sql.log", true), false));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (originalOut != null) {
+            System.out.flush();
+            System.setOut(originalOut);
+        }
+        // Flushes what the async appender still holds
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+    }
+
+    // The lines logged while creating a task, in the order TaskController, TaskService and AuditService log them
+    @Benchmark
+    public long createTask() {
+        long id = ThreadLocalRandom.current().nextLong(1_000_000);
+        controllerLogger.debug("REST: Creating new task");
+        serviceLogger.info("Creating new task: {} by user: {}", title, username);
+        echo(INSERT_SQL);
+        auditLogger.debug("AUDIT: User '{}' performed '{}' on {} with ID: {} - {}",
+                username, "CREATE", "TASK", id, "Created task: " + title);
+        controllerLogger.debug("REST: Task created successfully with ID: {}", id);
+        return id;
+    }
+
+    @Benchmark
+    public long getTask() {
+        long id = ThreadLocalRandom.current().nextLong(1_000_000);
+        controllerLogger.debug("REST: Fetching task with ID: {}", id);
+        serviceLogger.debug("Fetching task with ID: {}", id);
+        echo(SELECT_SQL);
+        return id;
+    }
+
+    // What spring.jpa.show-sql with format_sql did for every statement
+    private void echo(String sql) {
+        if (echoSql) {
+            System.out.println("Hibernate: " + FormatStyle.BASIC.getFormatter().format(sql));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.TasklistApi.benchmarks;
+
+import com.example.TasklistApi.TasklistApiApplication;
+import com.example.TasklistApi.dto.TaskVersion;
+import com.example.TasklistApi.model.AuditLog;
+import com.example.TasklistApi.model.Task;
+import com.example.TasklistApi.model.TaskStatus;
+import com.example.TasklistApi.repository.AuditLogRepository;
+import com.example.TasklistApi.repository.TaskRepository;
+import com.example.TasklistApi.service.AuditPartitionMaintenance;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository calls behind the read endpoints, against the real schema (Flyway migrations,
+ * partitions and indexes included). Starts an embedded PostgreSQL unless SPRING_DATASOURCE_URL
+ * (and the other datasource variables the application reads) point at an existing database.
+ *
+ * Seeded rows get negative ids so they cannot collide with existing data, and are deleted
+ * again afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param("100000")
+    private int tasks;
+
+    private EmbeddedPostgres embeddedPostgres;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TaskRepository taskRepository;
+    private AuditLogRepository auditLogRepository;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        List<String> args = new ArrayList<>(List.of("--spring.main.banner-mode=off", "--jwt.secret=benchmark"));
+        if (System.getenv("SPRING_DATASOURCE_URL") == null) {
+            embeddedPostgres = EmbeddedPostgres.start();
+            args.add("--spring.datasource.url=" + embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+            args.add("--spring.datasource.username=postgres");
+            args.add("--spring.datasource.password=");
+        }
+        context = new SpringApplicationBuilder(TasklistApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        auditLogRepository = context.getBean(AuditLogRepository.class);
+
+        // Same shape as QueryPlanRegressionTests: mostly completed tasks, two audit entries per task
+        jdbcTemplate.update("INSERT INTO tasks (id, title, due_date, status, created_at, updated_at, " +
+                "created_by, last_modified_by, version) " +
+                "SELECT -g, 'Task ' || g, ? + (g % 365) * INTERVAL '1 day' + (g % 24) * INTERVAL '1 hour', " +
+                "CASE WHEN g % 100 < 90 THEN 'COMPLETED' WHEN g % 100 < 95 THEN 'PENDING' " +
+                "WHEN g % 100 < 99 THEN 'IN_PROGRESS' ELSE 'CANCELLED' END, " +
+                "now(), now(), 'user' || (g % 50), 'user' || (g % 50), 0 " +
+                "FROM generate_series(1, ?) g", START, tasks);
+        context.getBean(AuditPartitionMaintenance.class)
+                .createPartitions(YearMonth.from(START), YearMonth.from(START).plusYears(1));
+        jdbcTemplate.update("INSERT INTO audit_logs (id, username, action, entity_type, entity_id, details, timestamp) " +
+                "SELECT -g, 'user' || (g % 50), CASE WHEN g % 2 = 0 THEN 'CREATE' ELSE 'UPDATE' END, " +
+                "'TASK', -(g % ?) - 1, 'details', ? + g * (INTERVAL '365 days' / ?) " +
+                "FROM generate_series(1, ?) g", tasks, START, 2 * tasks, 2 * tasks);
+        jdbcTemplate.execute("ANALYZE tasks");
+        jdbcTemplate.execute("ANALYZE audit_logs");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE id < 0");
+        jdbcTemplate.update("DELETE FROM tasks WHERE id < 0");
+        context.close();
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    private long randomTaskId() {
+        return -ThreadLocalRandom.current().nextLong(1, tasks + 1);
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return taskRepository.findById(randomTaskId());
+    }
+
+    @Benchmark
+    public Optional<TaskVersion> findVersionById() {
+        return taskRepository.findVersionById(randomTaskId());
+    }
+
+    @Benchmark
+    public List<Task> findByStatus() {
+        return taskRepository.findByStatus(TaskStatus.CANCELLED);
+    }
+
+    @Benchmark
+    public List<Task> keysetPageByStatus() {
+        return taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(TaskStatus.PENDING, randomTaskId(), Limit.of(100));
+    }
+
+    @Benchmark
+    public List<AuditLog> auditLogsForTask() {
+        return auditLogRepository.findByEntityTypeAndEntityId("TASK", randomTaskId());
+    }
+
+    @Benchmark
+    public List<AuditLog> auditLogsForOneHour() {
+        LocalDateTime from = START.plusMinutes(ThreadLocalRandom.current().nextLong(364 * 24 * 60));
+        return auditLogRepository.findByTimestampBetween(from, from.plusHours(1));
+    }
+}
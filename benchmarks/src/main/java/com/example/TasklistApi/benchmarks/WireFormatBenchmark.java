@@ -0,0 +1,118 @@
+package com.example.TasklistApi.benchmarks;
+
+import com.example.TasklistApi.dto.TaskDTO;
+import com.example.TasklistApi.model.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writing and reading a task list in each wire format the API negotiates, JSON, Smile and
+ * CBOR, with the mappers configured as in WireFormatConfig, and optionally gzipped as Tomcat
+ * does above server.compression.min-response-size. The size on the wire of each combination
+ * is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class WireFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private CollectionType listType;
+    private List<TaskDTO> tasks;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = switch (format) {
+            // Same settings Spring Boot's JacksonAutoConfiguration applies
+            case "JSON" -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                            SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                    .build();
+            case "SMILE" -> Jackson2ObjectMapperBuilder.smile()
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            case "CBOR" -> Jackson2ObjectMapperBuilder.cbor()
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDTO.class);
+
+        // Same shape as TaskJsonBenchmark
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskDTO task = new TaskDTO();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setDescription(i % 3 == 0 ? null : "Description of task " + i + " with a few more words");
+            task.setDueDate(now.plusHours(i));
+            task.setStatus(statuses[i % statuses.length]);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setVersion((long) i % 5);
+            tasks.add(task);
+        }
+
+        encoded = write();
+        System.out.printf("%n%s%s, %d tasks: %d bytes on the wire%n", format, gzip ? " + gzip" : "", size,
+                encoded.length);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, tasks);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<TaskDTO> read() throws IOException {
+        try (InputStream in = gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(encoded))
+                : new ByteArrayInputStream(encoded)) {
+            return objectMapper.readValue(in, listType);
+        }
+    }
+}
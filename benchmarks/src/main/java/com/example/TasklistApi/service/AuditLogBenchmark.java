@@ -0,0 +1,82 @@
+package com.example.TasklistApi.service;
+
+import ch.qos.logback.classic.Level;
+import com.example.TasklistApi.model.AuditLog;
+import com.example.TasklistApi.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What every mutation pays on the request thread for its audit entry: building the details
+ * string, creating the AuditLog and the AUDIT log line. The batch writer is replaced by a stub
+ * so no database is involved. Run with the AuditService logger at DEBUG (where the line is
+ * written) and INFO (as deployed) to see what it costs; see logback.xml for where it goes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AuditLogBenchmark {
+
+    @Param({"DEBUG", "INFO"})
+    private String auditLogLevel;
+
+    private AuditService auditService;
+    private long taskId;
+    // Fields rather than literals so the concatenation is not folded at compile time
+    private String title = "Prepare quarterly report";
+    private String newTitle = "Prepare Q1 report";
+
+    @Setup
+    public void setup() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(AuditService.class))
+                .setLevel(Level.toLevel(auditLogLevel));
+
+        auditService = new AuditService();
+        Field writer = ReflectionUtils.findField(AuditService.class, "auditBatchWriter");
+        ReflectionUtils.makeAccessible(writer);
+        ReflectionUtils.setField(writer, auditService, new DiscardingAuditBatchWriter());
+    }
+
+    @Benchmark
+    public void logCreate() {
+        long id = taskId++;
+        auditService.logAction("alice", "CREATE", "TASK", id, "Created task: " + title);
+    }
+
+    // Same details format as TaskService.applyUpdate
+    @Benchmark
+    public void logUpdate() {
+        long id = taskId++;
+        auditService.logAction("alice", "UPDATE", "TASK", id,
+                String.format("Updated task from '%s' (status: %s) to '%s' (status: %s)",
+                        title, TaskStatus.PENDING, newTitle, TaskStatus.IN_PROGRESS));
+    }
+
+    static class DiscardingAuditBatchWriter extends AuditBatchWriter {
+
+        // Keeps the entry reachable so the allocation is not optimised away
+        AuditLog last;
+
+        @Override
+        public void submit(AuditLog auditLog) {
+            last = auditLog;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.dto.TaskDTO;
+import com.example.TasklistApi.model.Task;
+import com.example.TasklistApi.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping done for every task the API returns or accepts. Lives in the service
+ * package because the conversion methods are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TaskMappingBenchmark {
+
+    private TaskService taskService;
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setup() {
+        // The conversions use no collaborators, so no Spring context is needed
+        taskService = new TaskService();
+
+        LocalDateTime now = LocalDateTime.now();
+        task = new Task();
+        task.setId(42L);
+        task.setTitle("Prepare quarterly report");
+        task.setDescription("Collect the numbers from every team and summarise them for the board");
+        task.setDueDate(now.plusDays(7));
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        task.setVersion(3L);
+
+        taskDTO = taskService.convertToDTO(task);
+    }
+
+    @Benchmark
+    public TaskDTO convertToDTO() {
+        return taskService.convertToDTO(task);
+    }
+
+    @Benchmark
+    public Task convertToEntity() {
+        return taskService.convertToEntity(taskDTO);
+    }
+}
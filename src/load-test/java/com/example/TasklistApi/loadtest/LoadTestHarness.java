@@ -0,0 +1,262 @@
+package com.example.TasklistApi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the task and audit endpoints. Requests are started at a
+ * fixed arrival rate regardless of how long earlier ones take, and latency is measured from
+ * the moment a request was due to start, so a stalled server shows up in the percentiles
+ * instead of silently lowering the request rate (coordinated omission).
+ *
+ * The operations mirror Test Plan/Tasklist_Functional_Tests.jmx (create, list, update,
+ * delete) plus the other hot read paths. Their mix, the rate and the latency budgets come
+ * from loadtest.* system properties, see the load-test profile in pom.xml.
+ */
+public class LoadTestHarness {
+
+    public enum Operation {
+        CREATE, GET, LIST, UPDATE, COMPLETE, DELETE, AUDIT_TASK, AUDIT_RANGE
+    }
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final URI baseUri;
+    private final Settings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpClient httpClient;
+
+    private final List<Long> seededIds = Collections.synchronizedList(new ArrayList<>());
+    private final ConcurrentLinkedDeque<Long> createdIds = new ConcurrentLinkedDeque<>();
+    private final AtomicLong titleSequence = new AtomicLong();
+
+    public LoadTestHarness(URI baseUri, Settings settings) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /** Creates the configured number of tasks through the bulk endpoint. */
+    public void seed() throws IOException, InterruptedException {
+        for (int start = 0; start < settings.tasks(); start += SEED_BATCH_SIZE) {
+            int count = Math.min(SEED_BATCH_SIZE, settings.tasks() - start);
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < count; i++) {
+                body.append(i == 0 ? "" : ",").append(taskJson("Seeded task " + (start + i), "PENDING"));
+            }
+            HttpResponse<String> response = httpClient.send(request("/api/tasks/batch")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                seededIds.add(result.get("id").asLong());
+            }
+        }
+    }
+
+    /** Ids of every task the run created, seeded or not, so the caller can clean up. */
+    public List<Long> createdTaskIds() {
+        List<Long> ids = new ArrayList<>(seededIds);
+        ids.addAll(createdIds);
+        return ids;
+    }
+
+    /** Drives the workload for the warmup plus the measured duration and reports on the latter. */
+    public LoadTestReport run() throws InterruptedException {
+        Operation[] schedule = weightedSchedule(settings.mix());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        Map<Operation, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (Operation operation : settings.mix().keySet()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        List<CompletableFuture<?>> inFlight = Collections.synchronizedList(new ArrayList<>());
+        long lateStarts = 0;
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else if (-wait > TimeUnit.MILLISECONDS.toNanos(10)) {
+                lateStarts++;
+            }
+
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            boolean measured = intended >= measureFrom;
+            CompletableFuture<?> future = execute(operation).handle((statusCode, failure) -> {
+                if (measured) {
+                    boolean error = failure != null || statusCode >= 400;
+                    recorders.get(operation).record(System.nanoTime() - intended, error);
+                }
+                return null;
+            });
+            inFlight.add(future);
+            inFlight.removeIf(CompletableFuture::isDone);
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, 60, TimeUnit.SECONDS).join();
+        executor.shutdownNow();
+
+        return new LoadTestReport(settings, recorders, lateStarts);
+    }
+
+    private CompletableFuture<Integer> execute(Operation operation) {
+        HttpRequest request = switch (operation) {
+            case CREATE -> request("/api/tasks")
+                    .POST(HttpRequest.BodyPublishers.ofString(taskJson(nextTitle(), "PENDING"))).build();
+            case GET -> request("/api/tasks/" + randomSeededId()).GET().build();
+            case LIST -> request("/api/tasks?status=PENDING&limit=100&after=" + randomSeededId()).GET().build();
+            case UPDATE -> request("/api/tasks/" + randomSeededId())
+                    .PUT(HttpRequest.BodyPublishers.ofString(taskJson(nextTitle(), "IN_PROGRESS"))).build();
+            case COMPLETE -> request("/api/tasks/" + randomSeededId() + "/complete")
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+            case DELETE -> {
+                // Only tasks created during the run are deleted, so the seeded set stays intact
+                Long id = createdIds.pollFirst();
+                yield id == null ? null : request("/api/tasks/" + id).DELETE().build();
+            }
+            case AUDIT_TASK -> request("/api/audit/task/" + randomSeededId()).GET().build();
+            case AUDIT_RANGE -> {
+                LocalDateTime now = LocalDateTime.now();
+                yield request("/api/audit/date-range?start=" + now.minusSeconds(10) + "&end=" + now).GET().build();
+            }
+        };
+        if (request == null) {
+            return CompletableFuture.completedFuture(200);
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (operation == Operation.CREATE && response.statusCode() == 201) {
+                try {
+                    createdIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return response.statusCode();
+        });
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private String taskJson(String title, String status) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Created by the load test\",\"dueDate\":\""
+                + LocalDateTime.now().plusDays(30).withNano(0) + "\",\"status\":\"" + status + "\"}";
+    }
+
+    private String nextTitle() {
+        return "Load test task " + titleSequence.incrementAndGet();
+    }
+
+    private long randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    // One slot per weight unit, so picking a random slot honours the mix
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> slots.addAll(Collections.nCopies(weight, operation)));
+        return slots.toArray(Operation[]::new);
+    }
+
+    /**
+     * Workload and budgets. The mix is a list of operation:weight pairs, e.g. "get:40,create:10";
+     * a budget of 0 disables that check.
+     */
+    public record Settings(int tasks, int rate, Duration warmup, Duration duration, Map<Operation, Integer> mix,
+                           long p95BudgetMs, long p99BudgetMs, double maxErrorRate) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("loadtest.tasks", 10_000),
+                    Integer.getInteger("loadtest.rate", 100),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                    parseMix(System.getProperty("loadtest.mix",
+                            "get:35,list:15,update:15,create:10,audit_task:10,complete:5,delete:5,audit_range:5")),
+                    Long.getLong("loadtest.budget.p95-ms", 250),
+                    Long.getLong("loadtest.budget.p99-ms", 1000),
+                    Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")));
+        }
+
+        static Map<Operation, Integer> parseMix(String mix) {
+            Map<Operation, Integer> weights = new LinkedHashMap<>();
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid loadtest.mix entry '" + entry
+                            + "', expected operation:weight with operation one of " + Arrays.toString(Operation.values()));
+                }
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+            }
+            return weights;
+        }
+    }
+
+    /** Collects latencies for one operation; sorted only once, when the report is built. */
+    static class LatencyRecorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long latencyNanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.TasklistApi.loadtest;
+
+import com.example.TasklistApi.loadtest.LoadTestHarness.LatencyRecorder;
+import com.example.TasklistApi.loadtest.LoadTestHarness.Operation;
+import com.example.TasklistApi.loadtest.LoadTestHarness.Settings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles per operation for the measured part of a run, and the
+ * operations that went over the configured budgets.
+ */
+public class LoadTestReport {
+
+    public record OperationStats(Operation operation, int requests, int errors, double throughput,
+                                 double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private final Settings settings;
+    private final List<OperationStats> stats = new ArrayList<>();
+    private final long lateStarts;
+
+    LoadTestReport(Settings settings, Map<Operation, LatencyRecorder> recorders, long lateStarts) {
+        this.settings = settings;
+        this.lateStarts = lateStarts;
+        double seconds = settings.duration().toMillis() / 1000.0;
+        recorders.forEach((operation, recorder) -> {
+            long[] latencies = recorder.sortedLatencies();
+            stats.add(new OperationStats(operation, latencies.length, recorder.errors(), latencies.length / seconds,
+                    percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                    percentile(latencies, 100)));
+        });
+    }
+
+    public List<OperationStats> getStats() {
+        return stats;
+    }
+
+    /** Budget violations, one line each; empty when the run passed. */
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        for (OperationStats operation : stats) {
+            if (settings.p95BudgetMs() > 0 && operation.p95Ms() > settings.p95BudgetMs()) {
+                violations.add(String.format("%s p95 %.1f ms > %d ms",
+                        operation.operation(), operation.p95Ms(), settings.p95BudgetMs()));
+            }
+            if (settings.p99BudgetMs() > 0 && operation.p99Ms() > settings.p99BudgetMs()) {
+                violations.add(String.format("%s p99 %.1f ms > %d ms",
+                        operation.operation(), operation.p99Ms(), settings.p99BudgetMs()));
+            }
+            if (operation.errorRate() > settings.maxErrorRate()) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%",
+                        operation.operation(), operation.errorRate() * 100, settings.maxErrorRate() * 100));
+            }
+        }
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format(
+                "Load test: %d req/s for %ds after %ds warmup, %d seeded tasks%n",
+                settings.rate(), settings.duration().toSeconds(), settings.warmup().toSeconds(), settings.tasks()));
+        report.append(String.format("%-12s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (OperationStats operation : stats) {
+            report.append(String.format("%-12s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    operation.operation(), operation.requests(), operation.errors(), operation.throughput(),
+                    operation.p50Ms(), operation.p95Ms(), operation.p99Ms(), operation.maxMs()));
+        }
+        if (lateStarts > 0) {
+            report.append(String.format("WARNING: %d requests started more than 10 ms late - the load generator "
+                    + "could not keep up, so the offered rate was lower than configured%n", lateStarts));
+        }
+        return report.toString();
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
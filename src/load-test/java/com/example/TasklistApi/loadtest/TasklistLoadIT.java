@@ -0,0 +1,81 @@
+package com.example.TasklistApi.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the application on a random port, seeds it and puts it under the load described by
+ * the loadtest.* properties. Fails when any operation goes over the latency or error budget.
+ * The report is printed and written to target/load-test-report-{platform|virtual}.txt.
+ *
+ * Uses the database from SPRING_DATASOURCE_URL when set (e.g. the docker-compose Postgres),
+ * otherwise an embedded PostgreSQL. Only run by the load-test Maven profile.
+ */
+// All load comes from one address, which the per-client rate limit would otherwise throttle
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "tasklist.ratelimit.enabled=false")
+class TasklistLoadIT {
+
+    private static EmbeddedPostgres embeddedPostgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        if (System.getenv("SPRING_DATASOURCE_URL") != null) {
+            return;
+        }
+        embeddedPostgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    @Test
+    void staysWithinLatencyBudget() throws Exception {
+        LoadTestHarness harness = new LoadTestHarness(URI.create("http://localhost:" + port),
+                LoadTestHarness.Settings.fromSystemProperties());
+        try {
+            harness.seed();
+            LoadTestReport report = harness.run();
+
+            // One file per thread mode, so a platform and a virtual-thread run can be compared
+            String mode = Boolean.getBoolean("spring.threads.virtual.enabled") ? "virtual" : "platform";
+            System.out.println(report);
+            Files.writeString(Path.of("target", "load-test-report-" + mode + ".txt"), report.toString());
+
+            List<String> violations = report.violations();
+            assertTrue(violations.isEmpty(), "Budget exceeded:\n" + String.join("\n", violations) + "\n\n" + report);
+        } finally {
+            // Leave a shared database as it was; the audit trail of the run is kept
+            jdbcTemplate.update("DELETE FROM tasks WHERE id = ANY(?)",
+                    (Object) harness.createdTaskIds().toArray(Long[]::new));
+        }
+    }
+}
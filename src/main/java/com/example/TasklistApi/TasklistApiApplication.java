@@ -2,8 +2,10 @@ package com.example.TasklistApi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TasklistApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,17 @@
+package com.example.TasklistApi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the read-through task caches. The caches themselves (names, size and expiry)
+ * are configured through the spring.cache.* properties; cross-replica invalidation is
+ * handled by {@link com.example.TasklistApi.service.TaskCacheInvalidator}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASK_CACHE = "task";
+    public static final String TASKS_BY_STATUS_CACHE = "tasksByStatus";
+}
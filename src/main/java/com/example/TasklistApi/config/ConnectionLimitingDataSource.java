@@ -0,0 +1,135 @@
+package com.example.TasklistApi.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of connections borrowed at once with a fair semaphore sized a little below
+ * the pool. With virtual threads there can be thousands of requests waiting for the database;
+ * parked on the semaphore they cost next to nothing and are served in arrival order, instead
+ * of all of them spinning through the pool's handoff queue. The permit is returned when the
+ * connection is closed.
+ *
+ * A thread that already holds a connection gets a second one (e.g. for a REQUIRES_NEW
+ * transaction) without queueing for a permit: behind threads that wait for its first one to
+ * be returned it would only time out. Those nested connections come from the pool
+ * connections the semaphore leaves over.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutMs;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    // Connections held by each thread through this data source
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConcurrency, long acquireTimeoutMs) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return limited(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return limited(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /** Threads currently holding connections handed out through this data source. */
+    public int getActive() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /** Threads waiting for a permit (an estimate, as reported by the semaphore). */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    /** Requests for a permit so far, including those that timed out. */
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    /** Total time those requests spent waiting, in nanoseconds. */
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            waitNanos.add(System.nanoTime() - start);
+            acquisitions.increment();
+            if (!acquired) {
+                throw new SQLTransientConnectionException("No database connection available within "
+                        + acquireTimeoutMs + " ms (" + getWaiting() + " waiting, limit " + maxConcurrency + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private Connection limited(ConnectionSupplier supplier) throws SQLException {
+        AtomicInteger holds = held.get();
+        boolean nested = holds.get() > 0;
+        if (!nested) {
+            acquire();
+        }
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            if (!nested) {
+                permits.release();
+            }
+            throw e;
+        }
+        holds.incrementAndGet();
+
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        // close() may be called more than once; only the first counts. The
+                        // thread's permit goes back with the last connection it holds.
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)
+                                && holds.decrementAndGet() == 0) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.TasklistApi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the JDBC statements executed and the entities loaded by Hibernate while serving
+ * each request, as the {@code tasklist.hibernate.statements} and
+ * {@code tasklist.hibernate.entity.loads} distributions tagged with the endpoint. A jump in
+ * either for one endpoint is how an N+1 query shows up.
+ *
+ * Both are counted per thread while a request is in progress: statements by a session
+ * listener (registered through hibernate.session.events.auto), entity loads by a post-load
+ * listener. Work handed to another thread, such as a streamed response body, is not counted;
+ * nor is plain JDBC (the audit writer, cache invalidation).
+ */
+@Component
+@Profile("!reactive")
+public class HibernateRequestMetrics extends OncePerRequestFilter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void registerLoadListener() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, event -> {
+                    Counts counts = CURRENT.get();
+                    if (counts != null) {
+                        counts.entityLoads++;
+                    }
+                });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("tasklist.hibernate.statements")
+                    .description("JDBC statements executed by Hibernate per request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(counts.statements);
+            DistributionSummary.builder("tasklist.hibernate.entity.loads")
+                    .description("Entities loaded by Hibernate per request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(counts.entityLoads);
+        }
+    }
+
+    // Only touched by the thread serving the request
+    private static final class Counts {
+        long statements;
+        long entityLoads;
+    }
+
+    /** Counts executed statements; Hibernate creates one per session. */
+    public static class StatementCounter implements SessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            increment();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            increment();
+        }
+
+        private static void increment() {
+            Counts counts = CURRENT.get();
+            if (counts != null) {
+                counts.statements++;
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.TasklistApi.config;
+
+import com.example.TasklistApi.service.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Makes POST, PUT and PATCH requests to /api/tasks that carry an {@code Idempotency-Key} header
+ * safe to retry: the first request with a key is handled and its response stored in
+ * {@link IdempotencyStore}; a retry with the same key and the same method, path and body gets
+ * the stored response, marked {@code Idempotent-Replayed: true}, without reaching TaskService.
+ * A retry while the first request is still being handled gets 409 Conflict, and reusing a key
+ * for a different request 422 Unprocessable Entity.
+ *
+ * The key, the change and the stored response commit in one transaction, which spans the whole
+ * request, so a retry can never apply a change twice. Server errors (5xx) roll back, so the key
+ * can be retried once the cause is gone; the response is only sent once the commit succeeded.
+ */
+@Component
+@Profile("!reactive")
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !METHODS.contains(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !request.getRequestURI().startsWith("/api/tasks");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String username = currentUsername();
+        String requestHash = requestHash(cachedRequest);
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+
+        IdempotencyStore.Outcome outcome;
+        try {
+            outcome = transactionTemplate.execute(transaction -> {
+                try {
+                    return handle(transaction, cachedRequest, cachingResponse, chain, username, key, requestHash);
+                } catch (IOException | ServletException e) {
+                    throw new ChainException(e);
+                }
+            });
+        } catch (PessimisticLockingFailureException e) {
+            // An identical request still holds the key after the wait
+            outcome = IdempotencyStore.Outcome.IN_PROGRESS;
+            cachingResponse.resetBuffer();
+            inProgress(cachingResponse);
+        } catch (ChainException e) {
+            if (e.getCause() instanceof ServletException servletException) {
+                throw servletException;
+            }
+            throw (IOException) e.getCause();
+        }
+        meterRegistry.counter("tasklist.idempotency.requests", "outcome", outcome.name().toLowerCase()).increment();
+        cachingResponse.copyBodyToResponse();
+    }
+
+    // In the transaction of the request, which is rolled back on a server error
+    private IdempotencyStore.Outcome handle(TransactionStatus transaction, HttpServletRequest request,
+                                            ContentCachingResponseWrapper response, FilterChain chain,
+                                            String username, String key, String requestHash)
+            throws IOException, ServletException {
+        IdempotencyStore.Claim claim = idempotencyStore.claim(username, key, requestHash);
+        switch (claim.outcome()) {
+            case REPLAY -> replay(claim.response(), response);
+            case IN_PROGRESS -> inProgress(response);
+            case MISMATCH -> response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+            case CLAIMED -> {
+                chain.doFilter(request, response);
+                int status = response.getStatus();
+                // Also not stored when the change failed and was marked for rollback, e.g. a 409
+                // for a version conflict; rolled back quietly here, it is handled afresh on a retry
+                if (status < 500 && !transaction.isRollbackOnly()) {
+                    idempotencyStore.complete(username, key, status, response.getContentType(),
+                            response.getHeader(HttpHeaders.ETAG), response.getContentAsByteArray());
+                } else {
+                    transaction.setRollbackOnly();
+                }
+            }
+        }
+        return claim.outcome();
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, stored.eTag());
+        }
+        if (stored.body() != null) {
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static void inProgress(HttpServletResponse response) {
+        response.setStatus(HttpStatus.CONFLICT.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private static String requestHash(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Carries a checked exception of the filter chain out of the transaction, which rolls back. */
+    private static class ChainException extends RuntimeException {
+
+        ChainException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    /** The request with its body read up front, so it can be hashed and then read again. */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.TasklistApi.config;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit for /api requests. A request arriving while the limit is reached
+ * gets 503 Service Unavailable with Retry-After at once, rather than queueing for a database
+ * connection behind everyone else. The limit is adjusted every adjust-interval-ms like TCP's
+ * congestion window: multiplied by the backoff factor while the mean wait for a database
+ * connection or the p99 latency of /api requests is above its threshold, and otherwise raised
+ * by one when it was reached. GETs of the expensive paths also need one of a few fixed slots.
+ *
+ * A request counts, and its latency is measured, until its handler returns. A streamed or SSE
+ * response, handled asynchronously, gives up its place under the limit as soon as it starts
+ * streaming, so long-lived change feed connections neither crowd out other requests nor
+ * inflate the p99; an expensive one keeps its expensive slot until the async request
+ * completes, fails or times out.
+ *
+ * Runs just before Spring Security, so shed requests cost next to nothing; actuator requests,
+ * including the Kubernetes probes, are never shed.
+ */
+@Component
+@Profile("!reactive")
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasklist.loadshed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tasklist.loadshed.min-limit:10}")
+    private int minLimit;
+
+    @Value("${tasklist.loadshed.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${tasklist.loadshed.backoff:0.9}")
+    private double backoff;
+
+    @Value("${tasklist.loadshed.connection-wait-threshold-ms:50}")
+    private double connectionWaitThresholdMs;
+
+    @Value("${tasklist.loadshed.p99-threshold-ms:1000}")
+    private double p99ThresholdMs;
+
+    @Value("${tasklist.loadshed.adjust-interval-ms:1000}")
+    private long adjustIntervalMs;
+
+    @Value("${tasklist.loadshed.expensive-max-concurrent:2}")
+    private int expensiveMaxConcurrent;
+
+    @Value("${tasklist.ratelimit.expensive-paths:/api/audit,/api/audit/export}")
+    private Set<String> expensivePaths;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile int limit;
+    private Semaphore expensiveSlots;
+
+    private Timer latencyTimer;
+    private double lastAcquisitions;
+    private double lastWaitNanos;
+
+    @PostConstruct
+    void init() {
+        limit = maxLimit;
+        expensiveSlots = new Semaphore(expensiveMaxConcurrent);
+        // Two buffers of two intervals: the p99 always covers at least the last interval
+        latencyTimer = Timer.builder("tasklist.load.latency")
+                .description("Latency of /api requests admitted by the concurrency limit")
+                .publishPercentiles(0.99)
+                .distributionStatisticExpiry(Duration.ofMillis(2 * adjustIntervalMs))
+                .distributionStatisticBufferLength(2)
+                .register(meterRegistry);
+        Gauge.builder("tasklist.load.limit", () -> limit)
+                .description("Concurrent /api requests admitted before shedding")
+                .register(meterRegistry);
+        Gauge.builder("tasklist.load.in.flight", inFlight, AtomicInteger::get)
+                .description("/api requests in progress")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            shed(response, "limit");
+            return;
+        }
+        peakInFlight.accumulateAndGet(current, Math::max);
+
+        boolean expensive = "GET".equals(request.getMethod()) && expensivePaths.contains(request.getRequestURI());
+        if (expensive && !expensiveSlots.tryAcquire()) {
+            inFlight.decrementAndGet();
+            shed(response, "expensive");
+            return;
+        }
+        Admission admission = new Admission(expensive, System.nanoTime());
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            admission.leave();
+            if (async && expensive) {
+                request.getAsyncContext().addListener(admission);
+            } else {
+                admission.release();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${tasklist.loadshed.adjust-interval-ms:1000}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        double waitMs = connectionWaitMs();
+        double p99Ms = latencyTimer.takeSnapshot().percentileValues()[0].value(TimeUnit.MILLISECONDS);
+        int current = limit;
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (waitMs > connectionWaitThresholdMs || p99Ms > p99ThresholdMs) {
+            limit = Math.max(minLimit, (int) (current * backoff));
+            if (limit < current) {
+                logger.warn("Overloaded (connection wait {} ms, p99 {} ms), lowering concurrency limit to {}",
+                        Math.round(waitMs), Math.round(p99Ms), limit);
+            }
+        } else if (peak >= current && current < maxLimit) {
+            limit = current + 1;
+        }
+    }
+
+    private void shed(HttpServletResponse response, String reason) {
+        meterRegistry.counter("tasklist.load.shed", "reason", reason).increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+    /**
+     * Mean wait for each database connection handed out since the last call: in Hikari, plus in
+     * front of it with virtual threads (tasklist.db.permits.wait). Threads still waiting when
+     * none got a connection all interval count as infinitely long waits.
+     */
+    private double connectionWaitMs() {
+        double acquisitions = 0;
+        double waitNanos = 0;
+        for (Timer timer : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            acquisitions += timer.count();
+            waitNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        // Every connection queued for a permit first; the count is Hikari's
+        for (FunctionTimer timer : meterRegistry.find("tasklist.db.permits.wait").functionTimers()) {
+            waitNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        double newAcquisitions = acquisitions - lastAcquisitions;
+        double newWaitNanos = waitNanos - lastWaitNanos;
+        lastAcquisitions = acquisitions;
+        lastWaitNanos = waitNanos;
+        if (newAcquisitions > 0) {
+            return newWaitNanos / newAcquisitions / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+        double waiting = 0;
+        for (Gauge gauge : meterRegistry.find("hikaricp.connections.pending").gauges()) {
+            waiting += gauge.value();
+        }
+        for (Gauge gauge : meterRegistry.find("tasklist.db.permits.waiting").gauges()) {
+            waiting += gauge.value();
+        }
+        return waiting > 0 ? Double.POSITIVE_INFINITY : 0;
+    }
+
+    /**
+     * The place of an admitted request under the limit, given up when its handler returns, and
+     * its expensive slot, given up once its response is complete.
+     */
+    private final class Admission implements AsyncListener {
+
+        private final boolean expensive;
+        private final long start;
+        private final AtomicBoolean left = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Admission(boolean expensive, long start) {
+            this.expensive = expensive;
+            this.start = start;
+        }
+
+        void leave() {
+            if (left.compareAndSet(false, true)) {
+                latencyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                inFlight.decrementAndGet();
+            }
+        }
+
+        void release() {
+            leave();
+            if (released.compareAndSet(false, true) && expensive) {
+                expensiveSlots.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        // Listeners are dropped when a request goes async again
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
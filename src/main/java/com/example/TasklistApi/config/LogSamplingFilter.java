@@ -0,0 +1,58 @@
+package com.example.TasklistApi.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logback turbo filter that keeps only a share ({@code rate}) of the INFO and DEBUG lines of
+ * the given loggers (comma-separated name prefixes); WARN and ERROR always pass. Declared in
+ * logback-spring.xml, where rate comes from tasklist.logging.sample-rate.
+ *
+ * Turbo filters run before a message is formatted, so a dropped line costs next to nothing.
+ * The decision is taken per trace when a trace id is in the MDC, so a request is either
+ * logged completely or not at all; without one each line is sampled on its own.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private static final int SCALE = 10000;
+
+    private String[] loggers = new String[0];
+    private int threshold = SCALE;
+
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public void setRate(double rate) {
+        threshold = (int) Math.round(Math.max(0, Math.min(1, rate)) * SCALE);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (threshold >= SCALE || level.isGreaterOrEqual(Level.WARN) || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        String traceId = MDC.get("traceId");
+        int bucket = traceId != null
+                ? Math.floorMod(traceId.hashCode(), SCALE)
+                : ThreadLocalRandom.current().nextInt(SCALE);
+        return bucket < threshold ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isSampled(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
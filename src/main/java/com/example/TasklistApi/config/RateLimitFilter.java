@@ -0,0 +1,143 @@
+package com.example.TasklistApi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets for /api requests. A client may send {@code tasklist.ratelimit.rate}
+ * requests per second on average, in bursts of up to {@code burst}; beyond that it gets 429 Too
+ * Many Requests with Retry-After. GETs of the expensive paths (by default the unbounded audit
+ * listing and the audit export) also take from a second, much smaller bucket per client.
+ *
+ * A client is the authenticated user, or else the remote address. Buckets are kept in a bounded
+ * map and forgotten after ten idle minutes, by which time they would have refilled anyway.
+ */
+@Component
+@Profile("!reactive")
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasklist.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tasklist.ratelimit.rate:50}")
+    private double rate;
+
+    @Value("${tasklist.ratelimit.burst:100}")
+    private int burst;
+
+    @Value("${tasklist.ratelimit.expensive-rate:0.2}")
+    private double expensiveRate;
+
+    @Value("${tasklist.ratelimit.expensive-burst:3}")
+    private int expensiveBurst;
+
+    @Value("${tasklist.ratelimit.expensive-paths:/api/audit,/api/audit/export}")
+    private Set<String> expensivePaths;
+
+    @Value("${tasklist.ratelimit.max-clients:100000}")
+    private long maxClients;
+
+    private Cache<String, TokenBucket> buckets;
+    private Cache<String, TokenBucket> expensiveBuckets;
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder().maximumSize(maxClients).expireAfterAccess(Duration.ofMinutes(10)).build();
+        expensiveBuckets = Caffeine.newBuilder().maximumSize(maxClients).expireAfterAccess(Duration.ofMinutes(10)).build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientId(request);
+        long now = System.nanoTime();
+
+        long waitNanos = buckets.get(client, c -> new TokenBucket(rate, burst, now)).take(now);
+        String tier = "default";
+        if (waitNanos == 0 && "GET".equals(request.getMethod()) && expensivePaths.contains(request.getRequestURI())) {
+            waitNanos = expensiveBuckets.get(client, c -> new TokenBucket(expensiveRate, expensiveBurst, now)).take(now);
+            tier = "expensive";
+        }
+        if (waitNanos > 0) {
+            meterRegistry.counter("tasklist.ratelimit.rejected", "tier", tier).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1)));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * A token bucket held as the single instant it will next be full (the generic cell rate
+     * algorithm), so taking a token is one compare-and-set, without a lock.
+     */
+    static final class TokenBucket {
+
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final AtomicLong fullAt;
+
+        TokenBucket(double rate, int burst, long now) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            this.capacityNanos = intervalNanos * burst;
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /** Takes a token, returning 0, or how long until one is available when there is none. */
+        long take(long now) {
+            while (true) {
+                long current = fullAt.get();
+                long next = (current - now > 0 ? current : now) + intervalNanos;
+                if (next - now > capacityNanos) {
+                    return next - now - capacityNanos;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
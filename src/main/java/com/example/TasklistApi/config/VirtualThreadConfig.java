@@ -0,0 +1,78 @@
+package com.example.TasklistApi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in virtual-thread mode (spring.threads.virtual.enabled=true). Spring Boot then serves
+ * requests and runs scheduled work on virtual threads, and the audit writer switches to one
+ * as well. Since request threads are no longer a natural limit on database concurrency, the
+ * pool is wrapped in a {@link ConnectionLimitingDataSource} with as many permits as it has
+ * connections less tasklist.db.reserved-connections (or tasklist.db.max-concurrency when set).
+ * The reserved connections serve threads that need a second connection while holding one.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // Static so the post-processor does not force early initialisation of this configuration
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                int maxConcurrency = environment.getProperty("tasklist.db.max-concurrency", Integer.class, 0);
+                if (maxConcurrency <= 0) {
+                    int reserved = environment.getProperty("tasklist.db.reserved-connections", Integer.class, 2);
+                    maxConcurrency = Math.max(1, hikari.getMaximumPoolSize() - reserved);
+                }
+                logger.info("Virtual threads enabled, limiting database access to {} concurrent connections",
+                        maxConcurrency);
+                return new ConnectionLimitingDataSource(hikari, maxConcurrency, hikari.getConnectionTimeout());
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionLimitingDataSource limiter;
+            try {
+                limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("tasklist.db.permits.active", limiter, ConnectionLimitingDataSource::getActive)
+                    .description("Connections handed out through the concurrency limit")
+                    .register(registry);
+            Gauge.builder("tasklist.db.permits.waiting", limiter, ConnectionLimitingDataSource::getWaiting)
+                    .description("Threads queued for a database connection")
+                    .register(registry);
+            Gauge.builder("tasklist.db.permits.max", limiter, ConnectionLimitingDataSource::getMaxConcurrency)
+                    .register(registry);
+            FunctionTimer.builder("tasklist.db.permits.wait", limiter, ConnectionLimitingDataSource::getAcquisitions,
+                            ConnectionLimitingDataSource::getWaitNanos, TimeUnit.NANOSECONDS)
+                    .description("Time spent queued for a database connection")
+                    .register(registry);
+        };
+    }
+}
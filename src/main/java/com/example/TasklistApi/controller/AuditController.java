@@ -1,19 +1,30 @@
 package com.example.TasklistApi.controller;
 
+import com.example.TasklistApi.dto.AuditStats;
 import com.example.TasklistApi.model.AuditLog;
+import com.example.TasklistApi.service.AuditRollups;
 import com.example.TasklistApi.service.AuditService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/audit")
 @CrossOrigin(origins = "*")
 @Tag(name = "Audit Logs", description = "Audit trail operations")
@@ -22,6 +33,12 @@ public class AuditController {
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private AuditRollups auditRollups;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Get all audit logs")
     @GetMapping
     public ResponseEntity<List<AuditLog>> getAllAuditLogs() {
@@ -45,7 +62,7 @@ public class AuditController {
     @Operation(summary = "Get audit logs by action type")
     @GetMapping("/action/{action}")
     public ResponseEntity<List<AuditLog>> getAuditLogsByAction(
-            @Parameter(description = "Action type (CREATE, UPDATE, DELETE, COMPLETE)") 
+            @Parameter(description = "Action type (CREATE, UPDATE, DELETE, COMPLETE, DUE_SOON, OVERDUE)") 
             @PathVariable String action) {
         return ResponseEntity.ok(auditService.getAuditLogsByAction(action));
     }
@@ -59,4 +76,58 @@ public class AuditController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
         return ResponseEntity.ok(auditService.getAuditLogsByDateRange(start, end));
     }
+
+    @Operation(summary = "Get audit entry counts per time bucket",
+            description = "Counts per hour or day, grouped by user or action, read from the audit rollups " +
+                    "rather than the audit log. Defaults to the last day (hours) or 30 days (days)")
+    @GetMapping("/stats")
+    public ResponseEntity<AuditStats> getAuditStats(
+            @Parameter(description = "Group by user or action")
+            @RequestParam(defaultValue = "user") String groupBy,
+            @Parameter(description = "Bucket size: hour or day")
+            @RequestParam(defaultValue = "hour") String bucket,
+            @Parameter(description = "Start date (rounded down to its bucket)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End date (exclusive, rounded up to the end of its bucket)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(auditRollups.getStats(AuditRollups.GroupBy.valueOf(groupBy.toUpperCase()),
+                    AuditRollups.Bucket.valueOf(bucket.toUpperCase()), from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Export audit logs as newline-delimited JSON",
+            description = "Streams audit logs (optionally within a date range) one JSON object per line, " +
+                    "gzip-compressed for clients that accept it. Memory use is constant regardless of the export size")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @Parameter(description = "Start date") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @Parameter(description = "End date") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if ((start == null) != (end == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                auditService.exportAuditLogs(start, end, auditLog -> {
+                    try {
+                        generator.writeObject(auditLog);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs.ndjson\"")
+                .body(body);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.example.TasklistApi.controller;
+
+import com.example.TasklistApi.dto.AuditStats;
+import com.example.TasklistApi.model.AuditLogRecord;
+import com.example.TasklistApi.repository.ReactiveAuditLogRepository;
+import com.example.TasklistApi.service.AuditRollups;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Reactive variant of {@link AuditController} with the same REST contract, active with the
+ * reactive profile. Every result is streamed from the database with backpressure.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "*")
+public class ReactiveAuditController {
+
+    @Autowired
+    private ReactiveAuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditRollups auditRollups;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuditLogRecord> getAllAuditLogs() {
+        return auditLogRepository.findAllByOrderByIdAsc();
+    }
+
+    @GetMapping(value = "/user/{username}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuditLogRecord> getAuditLogsByUser(@PathVariable String username) {
+        return auditLogRepository.findByUsername(username);
+    }
+
+    @GetMapping(value = "/task/{taskId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuditLogRecord> getAuditLogsForTask(@PathVariable Long taskId) {
+        return auditLogRepository.findByEntityTypeAndEntityId("TASK", taskId);
+    }
+
+    @GetMapping(value = "/action/{action}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuditLogRecord> getAuditLogsByAction(@PathVariable String action) {
+        return auditLogRepository.findByAction(action);
+    }
+
+    @GetMapping(value = "/date-range", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuditLogRecord> getAuditLogsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return auditLogRepository.findByTimestampBetween(start, end);
+    }
+
+    // Read over JDBC from the rollups, which is quick but blocking
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<AuditStats>> getAuditStats(
+            @RequestParam(defaultValue = "user") String groupBy,
+            @RequestParam(defaultValue = "hour") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return Mono.fromCallable(() -> auditRollups.getStats(AuditRollups.GroupBy.valueOf(groupBy.toUpperCase()),
+                        AuditRollups.Bucket.valueOf(bucket.toUpperCase()), from, to))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportAuditLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            ServerWebExchange exchange) {
+        if ((start == null) != (end == null)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        Flux<AuditLogRecord> auditLogs = start == null
+                ? auditLogRepository.findAllByOrderByIdAsc()
+                : auditLogRepository.findByTimestampBetweenOrderByTimestampAsc(start, end);
+        Flux<byte[]> lines = auditLogs.map(this::toLine);
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+
+        return Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs.ndjson\"")
+                .body(lines.map(bufferFactory::wrap)));
+    }
+
+    private byte[] toLine(AuditLogRecord auditLog) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(auditLog);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.TasklistApi.controller;
+
+import com.example.TasklistApi.dto.BatchItemResult;
+import com.example.TasklistApi.dto.TaskDTO;
+import com.example.TasklistApi.dto.TaskStats;
+import com.example.TasklistApi.dto.TaskSyncResponse;
+import com.example.TasklistApi.model.TaskStatus;
+import com.example.TasklistApi.service.ReactiveTaskService;
+import com.example.TasklistApi.service.TaskChangeFeed;
+import com.example.TasklistApi.service.TaskStatistics;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Reactive variant of {@link TaskController} with the same REST contract, active with the
+ * reactive profile. Full lists are streamed from the database as the client reads them, as a
+ * JSON array or, with Accept: application/x-ndjson, one task per line.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "*")
+public class ReactiveTaskController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTaskController.class);
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private ReactiveTaskService taskService;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @PostMapping
+    public Mono<ResponseEntity<TaskDTO>> createTask(@Valid @RequestBody TaskDTO taskDTO) {
+        return taskService.createTask(taskDTO)
+                .map(task -> ResponseEntity.status(HttpStatus.CREATED).body(task))
+                .onErrorResume(e -> serverError("Error creating task", e));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<BatchItemResult>>> createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        return batchResponse(taskService.createTasks(taskDTOs), "create");
+    }
+
+    @PutMapping("/batch")
+    public Mono<ResponseEntity<List<BatchItemResult>>> updateTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        return batchResponse(taskService.updateTasks(taskDTOs), "update");
+    }
+
+    @PatchMapping("/batch/complete")
+    public Mono<ResponseEntity<List<BatchItemResult>>> markTasksAsCompleted(@RequestBody List<Long> ids) {
+        return batchResponse(taskService.markTasksAsCompleted(ids), "complete");
+    }
+
+    // stream=true is accepted for compatibility; every full list is streamed here
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<TaskDTO>>> getAllTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "id") String sort,
+            ServerWebExchange exchange) {
+        return taskService.getTaskListVersion(status).flatMap(version -> {
+            String eTag = "W/\"" + version + "\"";
+            if (exchange.checkNotModified(eTag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<Flux<TaskDTO>>build());
+            }
+            if (after == null && limit == null) {
+                return Mono.just(ResponseEntity.ok().eTag(eTag).body(taskService.getTasks(status)));
+            }
+            // A page is bounded, so it is collected to put the cursor in a header
+            return taskService.getTasksPage(status, after, limit, sort).collectList().map(page -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+                if (!page.isEmpty()) {
+                    response.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).getId()));
+                }
+                return response.body(Flux.fromIterable(page));
+            });
+        }).onErrorResume(IllegalArgumentException.class, e -> {
+            logger.warn("REST: Invalid pagination request: {}", e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }).onErrorResume(e -> serverError("Error fetching tasks", e));
+    }
+
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<TaskStats>> getTaskStats() {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(taskStatistics.getStats()))
+                .onErrorResume(e -> serverError("Error fetching task statistics", e));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<TaskDTO>>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer offset) {
+        return taskService.searchTasks(q, limit, offset)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    logger.warn("REST: Invalid search request: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorResume(e -> serverError("Error searching tasks", e));
+    }
+
+    @GetMapping("/sync")
+    public Mono<ResponseEntity<TaskSyncResponse>> syncTasks(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return taskService.syncTasks(since, limit)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    logger.warn("REST: Invalid sync request: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorResume(e -> serverError("Error syncing tasks", e));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskChangeFeed.subscribeReactive(lastEventId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskDTO>> getTaskById(@PathVariable Long id, ServerWebExchange exchange) {
+        return taskService.getTaskById(id)
+                .map(task -> exchange.checkNotModified(eTag(task.getVersion()),
+                                task.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant())
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).<TaskDTO>build()
+                        : ResponseEntity.ok()
+                                .eTag(eTag(task.getVersion()))
+                                .lastModified(toEpochMilli(task.getUpdatedAt()))
+                                .body(task))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> serverError("Error fetching task with ID: " + id, e));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TaskDTO>> updateTask(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskDTO taskDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = null;
+        if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+            expectedVersion = parseETag(ifMatch);
+            if (expectedVersion == null) {
+                logger.warn("REST: Unusable If-Match for task with ID: {}: {}", id, ifMatch);
+                return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+            }
+        }
+        return taskService.updateTask(id, taskDTO, expectedVersion)
+                .map(task -> ResponseEntity.ok().eTag(eTag(task.getVersion())).body(task))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class, e -> {
+                    logger.warn("REST: Rejected stale update of task with ID: {}", id);
+                    return Mono.just(ResponseEntity.status(
+                            ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build());
+                })
+                .onErrorResume(e -> serverError("Error updating task with ID: " + id, e));
+    }
+
+    @PatchMapping("/{id}/complete")
+    public Mono<ResponseEntity<TaskDTO>> markTaskAsCompleted(@PathVariable Long id) {
+        return taskService.markTaskAsCompleted(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> serverError("Error marking task as completed with ID: " + id, e));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable Long id) {
+        return taskService.deleteTask(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build())
+                .onErrorResume(e -> serverError("Error deleting task with ID: " + id, e));
+    }
+
+    private Mono<ResponseEntity<List<BatchItemResult>>> batchResponse(Mono<List<BatchItemResult>> results,
+                                                                      String operation) {
+        return results.map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    logger.warn("REST: Rejected bulk {}: {}", operation, e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorResume(e -> serverError("Error in bulk " + operation, e));
+    }
+
+    private static <T> Mono<ResponseEntity<T>> serverError(String message, Throwable e) {
+        logger.error("REST: {}", message, e);
+        return Mono.just(ResponseEntity.internalServerError().build());
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Only strong ETags are accepted for If-Match
+    private static Long parseETag(String eTag) {
+        String value = eTag.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,8 +1,18 @@
 package com.example.TasklistApi.controller;
 
+import com.example.TasklistApi.dto.BatchItemResult;
+import com.example.TasklistApi.dto.TaskChangeEvent;
 import com.example.TasklistApi.dto.TaskDTO;
+import com.example.TasklistApi.dto.TaskStats;
+import com.example.TasklistApi.dto.TaskSummary;
+import com.example.TasklistApi.dto.TaskSyncResponse;
+import com.example.TasklistApi.dto.TaskVersion;
 import com.example.TasklistApi.model.TaskStatus;
+import com.example.TasklistApi.service.TaskChangeFeed;
 import com.example.TasklistApi.service.TaskService;
+import com.example.TasklistApi.service.TaskStatistics;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,14 +24,27 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/tasks")
 @CrossOrigin(origins = "*")
 @Tag(name = "Tasks", description = "Task management operations")
@@ -29,9 +52,20 @@ public class TaskController {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
     
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Create a new task", description = "Creates a new task with the provided details")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Task created successfully",
@@ -43,11 +77,11 @@ public class TaskController {
     public ResponseEntity<TaskDTO> createTask(
             @Parameter(description = "Task details", required = true)
             @Valid @RequestBody TaskDTO taskDTO) {
-        logger.info("REST: Creating new task");
+        logger.debug("REST: Creating new task");
         
         try {
             TaskDTO createdTask = taskService.createTask(taskDTO);
-            logger.info("REST: Task created successfully with ID: {}", createdTask.getId());
+            logger.debug("REST: Task created successfully with ID: {}", createdTask.getId());
             return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("REST: Error creating task", e);
@@ -55,53 +89,315 @@ public class TaskController {
         }
     }
 
-    @Operation(summary = "Get all tasks", description = "Retrieves all tasks, optionally filtered by status")
+    @Operation(summary = "Create tasks in bulk", description = "Creates many tasks in one request and returns " +
+            "a result per item. Invalid items are reported and skipped; the rest are created")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResult.class))),
+        @ApiResponse(responseCode = "400", description = "Batch too large"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createTasks(
+            @Parameter(description = "Tasks to create", required = true)
+            @RequestBody List<TaskDTO> taskDTOs) {
+        logger.debug("REST: Creating {} tasks in bulk", taskDTOs.size());
+
+        try {
+            return new ResponseEntity<>(taskService.createTasks(taskDTOs), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.warn("REST: Rejected bulk create: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("REST: Error creating tasks in bulk", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Operation(summary = "Update tasks in bulk", description = "Updates many tasks, identified by the id of " +
+            "each item, and returns a result per item")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResult.class))),
+        @ApiResponse(responseCode = "400", description = "Batch too large"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> updateTasks(
+            @Parameter(description = "Tasks to update, each with its id", required = true)
+            @RequestBody List<TaskDTO> taskDTOs) {
+        logger.debug("REST: Updating {} tasks in bulk", taskDTOs.size());
+
+        try {
+            return new ResponseEntity<>(taskService.updateTasks(taskDTOs), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.warn("REST: Rejected bulk update: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("REST: Error updating tasks in bulk", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Operation(summary = "Mark tasks as completed in bulk", description = "Marks many tasks as completed and " +
+            "returns a result per id")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResult.class))),
+        @ApiResponse(responseCode = "400", description = "Batch too large"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PatchMapping("/batch/complete")
+    public ResponseEntity<List<BatchItemResult>> markTasksAsCompleted(
+            @Parameter(description = "IDs of the tasks to complete", required = true)
+            @RequestBody List<Long> ids) {
+        logger.debug("REST: Marking {} tasks as completed in bulk", ids.size());
+
+        try {
+            return new ResponseEntity<>(taskService.markTasksAsCompleted(ids), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.warn("REST: Rejected bulk complete: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("REST: Error marking tasks as completed in bulk", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Operation(summary = "Get all tasks", description = "Retrieves all tasks, optionally filtered by status. " +
+            "Passing 'after' and/or 'limit' switches to keyset pagination; the cursor for the next page " +
+            "is returned in the X-Next-Cursor header until an empty page is reached. 'fields' limits each task " +
+            "to some of id, title, status and dueDate (id is always included), which only reads those columns")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid pagination parameters or fields"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks(
+    public ResponseEntity<List<?>> getAllTasks(
             @Parameter(description = "Filter tasks by status", example = "PENDING")
-            @RequestParam(required = false) TaskStatus status) {
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Cursor: id of the last task of the previous page", example = "100")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size", example = "100")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Page ordering: id or dueDate", example = "id")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Fields to include, comma-separated", example = "id,title,status,dueDate")
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
         
-        logger.info("REST: Fetching tasks with status filter: {}", status);
+        logger.debug("REST: Fetching tasks with status filter: {}", status);
         
         try {
-            List<TaskDTO> tasks;
+            Set<String> summaryFields = fields == null ? null : TaskSummary.parseFields(fields);
+            // Read before the body, so the ETag is never newer than what it is sent with
+            String eTag = listETag(taskService.getTaskListVersion(status), summaryFields);
+            if (webRequest.checkNotModified(eTag)) {
+                logger.debug("REST: Task list not modified");
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
+            if (summaryFields != null) {
+                List<TaskSummary> summaries;
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+                if (after != null || limit != null) {
+                    summaries = taskService.getTaskSummariesPage(status, after, limit, sort, summaryFields);
+                    if (!summaries.isEmpty()) {
+                        response.header(NEXT_CURSOR_HEADER, String.valueOf(summaries.get(summaries.size() - 1).getId()));
+                    }
+                } else {
+                    summaries = taskService.getTaskSummaries(status, summaryFields);
+                }
+                logger.debug("REST: Retrieved {} task summaries", summaries.size());
+                return response.body(summaries);
+            }
+
+            if (after != null || limit != null) {
+                List<TaskDTO> page = taskService.getTasksPage(status, after, limit, sort);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+                if (!page.isEmpty()) {
+                    response.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).getId()));
+                }
+                logger.debug("REST: Retrieved page of {} tasks", page.size());
+                return response.body(page);
+            }
+
             if (status != null) {
-                tasks = taskService.getTasksByStatus(status);
-            } else {
-                tasks = taskService.getAllTasks();
+                // Cached together with its version, which may be newer than the one checked above
+                TaskService.TaskList list = taskService.getTasksByStatus(status);
+                logger.debug("REST: Retrieved {} tasks", list.tasks().size());
+                return ResponseEntity.ok().eTag(listETag(list.version(), null)).body(list.tasks());
             }
-            
-            logger.info("REST: Retrieved {} tasks", tasks.size());
-            return new ResponseEntity<>(tasks, HttpStatus.OK);
+
+            List<TaskDTO> tasks = taskService.getAllTasks();
+            logger.debug("REST: Retrieved {} tasks", tasks.size());
+            return ResponseEntity.ok().eTag(eTag).body(tasks);
+        } catch (IllegalArgumentException e) {
+            logger.warn("REST: Invalid task list request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("REST: Error fetching tasks", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    @Operation(summary = "Get task by ID", description = "Retrieves a specific task by its ID")
+    @Operation(summary = "Stream all tasks", description = "Streams every task as a JSON array while rows are " +
+            "read from the database, so memory use does not grow with the size of the table")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tasks streamed successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDTO.class)))
+    })
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamTasks(
+            @Parameter(description = "Filter tasks by status", example = "PENDING")
+            @RequestParam(required = false) TaskStatus status) {
+        logger.debug("REST: Streaming tasks with status filter: {}", status);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                taskService.streamTasks(status, task -> {
+                    try {
+                        generator.writeObject(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @Operation(summary = "Get task statistics", description = "Counts per status and per creator, overdue and " +
+            "due later today. Served from memory; see reconciledAt for when they were last recomputed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskStats.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats() {
+        logger.debug("REST: Fetching task statistics");
+
+        try {
+            return ResponseEntity.ok(taskStatistics.getStats());
+        } catch (Exception e) {
+            logger.error("REST: Error fetching task statistics", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Operation(summary = "Search tasks", description = "Full-text search over task titles and descriptions, " +
+            "best match first. Every word matches as a prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching tasks retrieved",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Empty query or invalid limit/offset"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskDTO>> searchTasks(
+            @Parameter(description = "Words to search for", example = "deploy rel")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of tasks to return", example = "20")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Number of matches to skip", example = "0")
+            @RequestParam(required = false) Integer offset) {
+        logger.debug("REST: Searching tasks for: {}", q);
+
+        try {
+            List<TaskDTO> tasks = taskService.searchTasks(q, limit, offset);
+            logger.debug("REST: Found {} matching tasks", tasks.size());
+            return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            logger.warn("REST: Invalid search request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("REST: Error searching tasks", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Operation(summary = "Sync changed tasks", description = "Returns the tasks created or modified and the ids " +
+            "of the tasks deleted since the token from the previous sync (everything when omitted), plus the " +
+            "token for the next one. While hasMore is true, sync again right away")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskSyncResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid token or limit"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/sync")
+    public ResponseEntity<TaskSyncResponse> syncTasks(
+            @Parameter(description = "Token returned by the previous sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changed tasks to return", example = "100")
+            @RequestParam(required = false) Integer limit) {
+        logger.debug("REST: Syncing tasks since: {}", since);
+
+        try {
+            TaskSyncResponse sync = taskService.syncTasks(since, limit);
+            logger.debug("REST: Synced {} changed and {} deleted tasks", sync.getTasks().size(), sync.getDeleted().size());
+            return ResponseEntity.ok(sync);
+        } catch (IllegalArgumentException e) {
+            logger.warn("REST: Invalid sync request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("REST: Error syncing tasks", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Operation(summary = "Stream task changes", description = "Server-Sent Events stream of task creates, " +
+            "updates, completions and deletes on any replica, as 'task' events. Reconnects with Last-Event-ID " +
+            "first receive the changes missed in between; a 'reset' event means too many were missed and the " +
+            "task list should be reloaded")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Change stream opened",
+                content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = TaskChangeEvent.class)))
+    })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Id of the last event received, to resume after it")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        logger.debug("REST: Opening task change stream after: {}", lastEventId);
+        return taskChangeFeed.subscribe(lastEventId);
+    }
+
+    @Operation(summary = "Get task by ID", description = "Retrieves a specific task by its ID. Supports " +
+            "If-None-Match / If-Modified-Since, answered from the task version without loading the task")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task found",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Task not modified"),
         @ApiResponse(responseCode = "404", description = "Task not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> getTaskById(
             @Parameter(description = "Task ID", required = true, example = "1")
-            @PathVariable Long id) {
-        logger.info("REST: Fetching task with ID: {}", id);
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        logger.debug("REST: Fetching task with ID: {}", id);
         
         try {
+            Optional<TaskVersion> version = taskService.getTaskVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(
+                    eTag(version.get().getVersion()), toEpochMilli(version.get().getUpdatedAt()))) {
+                logger.debug("REST: Task not modified with ID: {}", id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
             Optional<TaskDTO> task = taskService.getTaskById(id);
             if (task.isPresent()) {
                 logger.debug("REST: Task found with ID: {}", id);
-                return new ResponseEntity<>(task.get(), HttpStatus.OK);
+                return ResponseEntity.ok()
+                        .eTag(eTag(task.get().getVersion()))
+                        .lastModified(toEpochMilli(task.get().getUpdatedAt()))
+                        .body(task.get());
             } else {
                 logger.warn("REST: Task not found with ID: {}", id);
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -112,12 +408,15 @@ public class TaskController {
         }
     }
 
-    @Operation(summary = "Update task", description = "Updates an existing task with new details")
+    @Operation(summary = "Update task", description = "Updates an existing task with new details. With an " +
+            "If-Match header the update only succeeds if the task is still at that version")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task updated successfully",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDTO.class))),
         @ApiResponse(responseCode = "404", description = "Task not found"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "409", description = "Task was modified concurrently"),
+        @ApiResponse(responseCode = "412", description = "Task no longer matches the If-Match version"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/{id}")
@@ -125,18 +424,32 @@ public class TaskController {
             @Parameter(description = "Task ID", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "Updated task details", required = true)
-            @Valid @RequestBody TaskDTO taskDTO) {
-        logger.info("REST: Updating task with ID: {}", id);
+            @Valid @RequestBody TaskDTO taskDTO,
+            @Parameter(description = "ETag (version) the update is based on", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.debug("REST: Updating task with ID: {}", id);
         
         try {
-            Optional<TaskDTO> updatedTask = taskService.updateTask(id, taskDTO);
+            Long expectedVersion = null;
+            if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+                expectedVersion = parseETag(ifMatch);
+                if (expectedVersion == null) {
+                    logger.warn("REST: Unusable If-Match for task with ID: {}: {}", id, ifMatch);
+                    return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+                }
+            }
+
+            Optional<TaskDTO> updatedTask = taskService.updateTask(id, taskDTO, expectedVersion);
             if (updatedTask.isPresent()) {
-                logger.info("REST: Task updated successfully with ID: {}", id);
-                return new ResponseEntity<>(updatedTask.get(), HttpStatus.OK);
+                logger.debug("REST: Task updated successfully with ID: {}", id);
+                return ResponseEntity.ok().eTag(eTag(updatedTask.get().getVersion())).body(updatedTask.get());
             } else {
                 logger.warn("REST: Task not found for update with ID: {}", id);
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("REST: Rejected stale update of task with ID: {}", id);
+            return new ResponseEntity<>(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
         } catch (Exception e) {
             logger.error("REST: Error updating task with ID: {}", id, e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -154,11 +467,11 @@ public class TaskController {
     public ResponseEntity<TaskDTO> markTaskAsCompleted(
             @Parameter(description = "Task ID", required = true, example = "1")
             @PathVariable Long id) {
-        logger.info("REST: Marking task as completed with ID: {}", id);
+        logger.debug("REST: Marking task as completed with ID: {}", id);
         
         try {
             TaskDTO completedTask = taskService.markTaskAsCompleted(id);
-            logger.info("REST: Task marked as completed with ID: {}", id);
+            logger.debug("REST: Task marked as completed with ID: {}", id);
             return new ResponseEntity<>(completedTask, HttpStatus.OK);
         } catch (RuntimeException e) {
             logger.warn("REST: Task not found to mark as completed with ID: {}", id);
@@ -179,12 +492,12 @@ public class TaskController {
     public ResponseEntity<Void> deleteTask(
             @Parameter(description = "Task ID", required = true, example = "1")
             @PathVariable Long id) {
-        logger.info("REST: Deleting task with ID: {}", id);
+        logger.debug("REST: Deleting task with ID: {}", id);
         
         try {
             boolean deleted = taskService.deleteTask(id);
             if (deleted) {
-                logger.info("REST: Task deleted successfully with ID: {}", id);
+                logger.debug("REST: Task deleted successfully with ID: {}", id);
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             } else {
                 logger.warn("REST: Task not found for deletion with ID: {}", id);
@@ -195,4 +508,30 @@ public class TaskController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Weak: each set of summary fields is a representation of its own
+    private static String listETag(long version, Set<String> summaryFields) {
+        return "W/\"" + version + (summaryFields == null ? "" : ";" + String.join(",", summaryFields)) + "\"";
+    }
+
+    // Only strong ETags are accepted for If-Match
+    private static Long parseETag(String eTag) {
+        String value = eTag.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.TasklistApi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Audit entries counted per time bucket, by user or by action, from the audit rollups")
+public class AuditStats {
+
+    @Schema(description = "What the counts are grouped by: user or action", example = "user")
+    private String groupBy;
+
+    @Schema(description = "Bucket size: hour or day", example = "hour")
+    private String bucket;
+
+    @Schema(description = "Start of the first bucket (inclusive)", example = "2025-07-20T00:00:00")
+    private LocalDateTime from;
+
+    @Schema(description = "End of the last bucket (exclusive)", example = "2025-07-21T00:00:00")
+    private LocalDateTime to;
+
+    @Schema(description = "Buckets with at least one entry, oldest first")
+    private List<Bucket> buckets;
+
+    public AuditStats() {}
+
+    public AuditStats(String groupBy, String bucket, LocalDateTime from, LocalDateTime to, List<Bucket> buckets) {
+        this.groupBy = groupBy;
+        this.bucket = bucket;
+        this.from = from;
+        this.to = to;
+        this.buckets = buckets;
+    }
+
+    public String getGroupBy() { return groupBy; }
+    public void setGroupBy(String groupBy) { this.groupBy = groupBy; }
+
+    public String getBucket() { return bucket; }
+    public void setBucket(String bucket) { this.bucket = bucket; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public List<Bucket> getBuckets() { return buckets; }
+    public void setBuckets(List<Bucket> buckets) { this.buckets = buckets; }
+
+    public static class Bucket {
+
+        @Schema(description = "Start of the bucket", example = "2025-07-20T14:00:00")
+        private LocalDateTime start;
+
+        @Schema(description = "Entries per user or action", example = "{\"alice\": 42, \"bob\": 7}")
+        private Map<String, Long> counts;
+
+        public Bucket() {}
+
+        public Bucket(LocalDateTime start, Map<String, Long> counts) {
+            this.start = start;
+            this.counts = counts;
+        }
+
+        public LocalDateTime getStart() { return start; }
+        public void setStart(LocalDateTime start) { this.start = start; }
+
+        public Map<String, Long> getCounts() { return counts; }
+        public void setCounts(Map<String, Long> counts) { this.counts = counts; }
+    }
+}
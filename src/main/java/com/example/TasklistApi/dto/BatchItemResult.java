@@ -0,0 +1,64 @@
+package com.example.TasklistApi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single item in a bulk task operation")
+public class BatchItemResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INVALID = "INVALID";
+
+    @Schema(description = "Position of the item in the request array", example = "0")
+    private int index;
+
+    @Schema(description = "ID of the task the item refers to", example = "1")
+    private Long id;
+
+    @Schema(description = "Outcome: CREATED, UPDATED, COMPLETED, NOT_FOUND or INVALID", example = "CREATED")
+    private String status;
+
+    @Schema(description = "Why the item was rejected", example = "title: Title is required")
+    private String error;
+
+    @Schema(description = "The task after the operation, for successful items")
+    private TaskDTO task;
+
+    public BatchItemResult() {}
+
+    public static BatchItemResult success(int index, String status, TaskDTO task) {
+        BatchItemResult result = new BatchItemResult();
+        result.index = index;
+        result.id = task.getId();
+        result.status = status;
+        result.task = task;
+        return result;
+    }
+
+    public static BatchItemResult failure(int index, Long id, String status, String error) {
+        BatchItemResult result = new BatchItemResult();
+        result.index = index;
+        result.id = id;
+        result.status = status;
+        result.error = error;
+        return result;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public TaskDTO getTask() { return task; }
+    public void setTask(TaskDTO task) { this.task = task; }
+}
@@ -0,0 +1,72 @@
+package com.example.TasklistApi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task mutation as pushed by the change feed. Every event corresponds to one TASK entry of
+ * the audit trail; its SSE id is that entry's id, which is all that is needed to resume from
+ * audit_logs.
+ */
+@Schema(description = "Task mutation pushed by the change feed")
+public class TaskChangeEvent {
+
+    @Schema(description = "CREATE, UPDATE, COMPLETE, DELETE, or the DUE_SOON and OVERDUE reminders", example = "UPDATE")
+    private String action;
+
+    @Schema(description = "ID of the task that changed", example = "42")
+    private Long taskId;
+
+    @Schema(description = "User who made the change", example = "alice")
+    private String username;
+
+    @Schema(description = "Time of the change", example = "2025-01-20T15:30:00.123456")
+    private LocalDateTime timestamp;
+
+    @JsonIgnore
+    private Long auditId;
+
+    public TaskChangeEvent() {}
+
+    public TaskChangeEvent(Long auditId, String action, Long taskId, String username, LocalDateTime timestamp) {
+        this.auditId = auditId;
+        this.action = action;
+        this.taskId = taskId;
+        this.username = username;
+        this.timestamp = timestamp;
+    }
+
+    /** SSE event id: the id of the audit entry. */
+    @JsonIgnore
+    public String getEventId() {
+        return String.valueOf(auditId);
+    }
+
+    /** Audit entry id given as an event id, or null if it is not one. */
+    public static Long auditIdOf(String eventId) {
+        try {
+            return Long.valueOf(eventId);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Getters and Setters
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    @JsonIgnore
+    public Long getAuditId() { return auditId; }
+    public void setAuditId(Long auditId) { this.auditId = auditId; }
+}
@@ -32,6 +32,9 @@ public class TaskDTO {
     @Schema(description = "Task last update timestamp", example = "2025-01-20T15:30:00", accessMode = Schema.AccessMode.READ_ONLY)
     private LocalDateTime updatedAt;
 
+    @Schema(description = "Version of the task, incremented on every change (also returned as the ETag)", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
     // Constructors
     public TaskDTO() {}
 
@@ -63,4 +66,7 @@ public class TaskDTO {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.TasklistApi.dto;
+
+import com.example.TasklistApi.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Schema(description = "Task counts, maintained incrementally and periodically reconciled with the database")
+public class TaskStats {
+
+    @Schema(description = "Number of tasks", example = "1250")
+    private long total;
+
+    @Schema(description = "Number of tasks per status", example = "{\"PENDING\": 300, \"IN_PROGRESS\": 50, \"COMPLETED\": 880, \"CANCELLED\": 20}")
+    private Map<TaskStatus, Long> byStatus;
+
+    @Schema(description = "Pending or in-progress tasks past their due date", example = "12")
+    private long overdue;
+
+    @Schema(description = "Pending or in-progress tasks due later today", example = "7")
+    private long dueToday;
+
+    @Schema(description = "Number of tasks per creator", example = "{\"admin\": 1000, \"user\": 250}")
+    private Map<String, Long> byCreator;
+
+    @Schema(description = "When the counts were last recomputed from the database", example = "2025-07-20T10:15:00")
+    private LocalDateTime reconciledAt;
+
+    public TaskStats() {}
+
+    public TaskStats(long total, Map<TaskStatus, Long> byStatus, long overdue, long dueToday,
+                     Map<String, Long> byCreator, LocalDateTime reconciledAt) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.overdue = overdue;
+        this.dueToday = dueToday;
+        this.byCreator = byCreator;
+        this.reconciledAt = reconciledAt;
+    }
+
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<TaskStatus, Long> getByStatus() { return byStatus; }
+    public void setByStatus(Map<TaskStatus, Long> byStatus) { this.byStatus = byStatus; }
+
+    public long getOverdue() { return overdue; }
+    public void setOverdue(long overdue) { this.overdue = overdue; }
+
+    public long getDueToday() { return dueToday; }
+    public void setDueToday(long dueToday) { this.dueToday = dueToday; }
+
+    public Map<String, Long> getByCreator() { return byCreator; }
+    public void setByCreator(Map<String, Long> byCreator) { this.byCreator = byCreator; }
+
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
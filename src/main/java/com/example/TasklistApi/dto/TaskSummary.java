@@ -0,0 +1,74 @@
+package com.example.TasklistApi.dto;
+
+import com.example.TasklistApi.model.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The columns a task list view needs, for GET /api/tasks?fields=... Selected by constructor
+ * expression, so description and the bookkeeping columns are never read. Fields that were not
+ * asked for are null and left out of the JSON; the id is always included, as the cursor of the
+ * next page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskSummary {
+
+    public static final List<String> FIELDS = List.of("id", "title", "status", "dueDate");
+
+    private final Long id;
+    private final String title;
+    private final TaskStatus status;
+    private final LocalDateTime dueDate;
+
+    public TaskSummary(Long id, String title, TaskStatus status, LocalDateTime dueDate) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.dueDate = dueDate;
+    }
+
+    /**
+     * Parses a comma-separated ?fields= value, e.g. {@code "title,status"}.
+     *
+     * @throws IllegalArgumentException for a field that is not one of {@link #FIELDS}
+     */
+    public static Set<String> parseFields(String fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        parsed.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unsupported field: " + name + " (fields may be any of "
+                        + String.join(", ", FIELDS) + ")");
+            }
+            parsed.add(name);
+        }
+        return parsed;
+    }
+
+    /** This summary with only the given fields set. */
+    public TaskSummary only(Set<String> fields) {
+        if (fields.size() == FIELDS.size()) {
+            return this;
+        }
+        return new TaskSummary(id,
+                fields.contains("title") ? title : null,
+                fields.contains("status") ? status : null,
+                fields.contains("dueDate") ? dueDate : null);
+    }
+
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public TaskStatus getStatus() { return status; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+}
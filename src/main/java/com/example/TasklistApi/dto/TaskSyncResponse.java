@@ -0,0 +1,43 @@
+package com.example.TasklistApi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Tasks changed and deleted since a sync token")
+public class TaskSyncResponse {
+
+    @Schema(description = "Tasks created or modified since the token, oldest change first")
+    private List<TaskDTO> tasks;
+
+    @Schema(description = "IDs of tasks deleted since the token", example = "[17, 42]")
+    private List<Long> deleted;
+
+    @Schema(description = "Token to pass as 'since' on the next sync", example = "MTcyOTA4MDAwMDEyMzQ1Njo0Mg")
+    private String next;
+
+    @Schema(description = "Whether more changes are waiting; sync again with 'next' right away", example = "false")
+    private boolean hasMore;
+
+    public TaskSyncResponse() {}
+
+    public TaskSyncResponse(List<TaskDTO> tasks, List<Long> deleted, String next, boolean hasMore) {
+        this.tasks = tasks;
+        this.deleted = deleted;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<TaskDTO> getTasks() { return tasks; }
+    public void setTasks(List<TaskDTO> tasks) { this.tasks = tasks; }
+
+    public List<Long> getDeleted() { return deleted; }
+    public void setDeleted(List<Long> deleted) { this.deleted = deleted; }
+
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,26 @@
+package com.example.TasklistApi.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just enough of a task to answer conditional requests (ETag / Last-Modified) without
+ * loading or serializing the whole entity.
+ */
+public class TaskVersion {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    public TaskVersion(Long id, Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() { return id; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
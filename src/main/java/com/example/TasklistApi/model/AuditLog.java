@@ -2,6 +2,7 @@ package com.example.TasklistApi.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "audit_logs")
@@ -14,7 +15,7 @@ public class AuditLog {
     private String username;
 
     @Column(nullable = false)
-    private String action; // CREATE, UPDATE, DELETE, COMPLETE
+    private String action; // CREATE, UPDATE, DELETE, COMPLETE, DUE_SOON, OVERDUE
 
     @Column(nullable = false)
     private String entityType; // TASK
@@ -28,8 +29,9 @@ public class AuditLog {
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
+    // Truncated to the column's precision, so the value sent in change events matches the stored one
     public AuditLog() {
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public AuditLog(String username, String action, String entityType, Long entityId, String details) {
@@ -0,0 +1,51 @@
+package com.example.TasklistApi.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the audit_logs table as read by the reactive (R2DBC) stack. Serializes exactly like
+ * {@link AuditLog}. Audit entries are still written by the AuditBatchWriter, never through this class.
+ */
+@Table("audit_logs")
+public class AuditLogRecord {
+
+    @Id
+    private Long id;
+
+    private String username;
+
+    private String action;
+
+    private String entityType;
+
+    private Long entityId;
+
+    private String details;
+
+    private LocalDateTime timestamp;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getEntityType() { return entityType; }
+    public void setEntityType(String entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public String getDetails() { return details; }
+    public void setDetails(String details) { this.details = details; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
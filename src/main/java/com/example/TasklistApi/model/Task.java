@@ -7,9 +7,21 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tasks")
+// A task row followed by the title, status and due date it had before an UPDATE ... RETURNING
+@SqlResultSetMapping(name = Task.WITH_PREVIOUS_VALUES, entities = @EntityResult(entityClass = Task.class),
+        columns = {
+            @ColumnResult(name = "previous_title", type = String.class),
+            @ColumnResult(name = "previous_status", type = String.class),
+            @ColumnResult(name = "previous_due_date", type = LocalDateTime.class)
+        })
 public class Task {
+    public static final String WITH_PREVIOUS_VALUES = "Task.withPreviousValues";
+
+
+    // Pooled sequence so inserts can be JDBC-batched (IDENTITY forces one round trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -40,6 +52,11 @@ public class Task {
     @Column(nullable = false)
     private String lastModifiedBy;
 
+    // Optimistic lock; incremented on every update and exposed as the task's ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructors
     public Task() {
         this.createdAt = LocalDateTime.now();
@@ -84,6 +101,9 @@ public class Task {
     public String getLastModifiedBy() { return lastModifiedBy; }
     public void setLastModifiedBy(String lastModifiedBy) { this.lastModifiedBy = lastModifiedBy; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
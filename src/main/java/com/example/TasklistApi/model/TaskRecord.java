@@ -0,0 +1,73 @@
+package com.example.TasklistApi.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the tasks table as mapped by the reactive (R2DBC) stack. Same columns as the JPA
+ * {@link Task}; there are no lifecycle callbacks, so updatedAt is set by the service.
+ *
+ * New rows take their id from the column default, i.e. one nextval() of tasks_id_seq per
+ * insert. The JPA stack uses those values as the top of its blocks of 50, so ids from the two
+ * stacks never collide.
+ */
+@Table("tasks")
+public class TaskRecord {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private LocalDateTime dueDate;
+
+    private TaskStatus status = TaskStatus.PENDING;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private String createdBy;
+
+    private String lastModifiedBy;
+
+    // Optimistic lock shared with the JPA stack, see Task#version
+    @Version
+    private Long version;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getCreatedBy() { return createdBy; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    public String getLastModifiedBy() { return lastModifiedBy; }
+    public void setLastModifiedBy(String lastModifiedBy) { this.lastModifiedBy = lastModifiedBy; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
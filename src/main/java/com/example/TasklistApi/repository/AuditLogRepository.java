@@ -1,11 +1,18 @@
 package com.example.TasklistApi.repository;
 
 import com.example.TasklistApi.model.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
@@ -13,4 +20,26 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId);
     List<AuditLog> findByAction(String action);
     List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    // Delta sync tombstones
+    @Query("SELECT DISTINCT a.entityId FROM AuditLog a WHERE a.action = 'DELETE' AND a.entityType = 'TASK' " +
+           "AND a.timestamp > :from AND a.timestamp <= :until")
+    List<Long> findDeletedTaskIds(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    // Change feed resumption: task entries after an id, up to the last id known to have settled
+    @Query("SELECT a FROM AuditLog a WHERE a.entityType = 'TASK' AND a.id > :after AND a.id <= :upTo ORDER BY a.id ASC")
+    List<AuditLog> findTaskChangesBetween(@Param("after") Long after, @Param("upTo") Long upTo, Limit limit);
+
+    // Forward-only cursors for the export endpoint, consumed inside a read-only transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AuditLog> streamAllByOrderByIdAsc();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AuditLog> streamByTimestampBetweenOrderByTimestampAsc(LocalDateTime start, LocalDateTime end);
+}
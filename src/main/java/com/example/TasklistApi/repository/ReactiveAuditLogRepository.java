@@ -0,0 +1,21 @@
+package com.example.TasklistApi.repository;
+
+import com.example.TasklistApi.model.AuditLogRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/** R2DBC counterpart of {@link AuditLogRepository} for the reactive profile. */
+@Repository
+public interface ReactiveAuditLogRepository extends R2dbcRepository<AuditLogRecord, Long> {
+    Flux<AuditLogRecord> findByUsername(String username);
+    Flux<AuditLogRecord> findByEntityTypeAndEntityId(String entityType, Long entityId);
+    Flux<AuditLogRecord> findByAction(String action);
+    Flux<AuditLogRecord> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
+
+    Flux<AuditLogRecord> findAllByOrderByIdAsc();
+
+    Flux<AuditLogRecord> findByTimestampBetweenOrderByTimestampAsc(LocalDateTime start, LocalDateTime end);
+}
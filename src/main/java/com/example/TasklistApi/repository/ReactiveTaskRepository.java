@@ -0,0 +1,55 @@
+package com.example.TasklistApi.repository;
+
+import com.example.TasklistApi.model.TaskRecord;
+import com.example.TasklistApi.model.TaskStatus;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC counterpart of {@link TaskRepository} for the reactive profile. The queries are the
+ * same and use the same indexes; Flux results are fetched from the database as the
+ * subscriber requests them.
+ */
+@Repository
+public interface ReactiveTaskRepository extends R2dbcRepository<TaskRecord, Long> {
+
+    Flux<TaskRecord> findAllByOrderByIdAsc();
+
+    Flux<TaskRecord> findByStatusOrderByIdAsc(TaskStatus status);
+
+    // Keyset pagination, see TaskRepository
+    @Query("SELECT * FROM tasks WHERE id > :after ORDER BY id LIMIT :limit")
+    Flux<TaskRecord> findPage(Long after, int limit);
+
+    @Query("SELECT * FROM tasks WHERE status = :status AND id > :after ORDER BY id LIMIT :limit")
+    Flux<TaskRecord> findPageByStatus(String status, Long after, int limit);
+
+    @Query("SELECT * FROM tasks ORDER BY due_date, id LIMIT :limit")
+    Flux<TaskRecord> findFirstPageOrderByDueDate(int limit);
+
+    @Query("SELECT * FROM tasks WHERE status = :status ORDER BY due_date, id LIMIT :limit")
+    Flux<TaskRecord> findFirstPageByStatusOrderByDueDate(String status, int limit);
+
+    @Query("SELECT * FROM tasks WHERE (due_date, id) > (:dueDate, :after) ORDER BY due_date, id LIMIT :limit")
+    Flux<TaskRecord> findPageOrderByDueDate(LocalDateTime dueDate, Long after, int limit);
+
+    @Query("SELECT * FROM tasks WHERE status = :status AND (due_date, id) > (:dueDate, :after) " +
+           "ORDER BY due_date, id LIMIT :limit")
+    Flux<TaskRecord> findPageByStatusOrderByDueDate(String status, LocalDateTime dueDate, Long after, int limit);
+
+    @Query("SELECT due_date FROM tasks WHERE id = :id")
+    Mono<LocalDateTime> findDueDateById(Long id);
+
+    // Same version as TaskRepository#findListVersion, so ETags are interchangeable between stacks
+    @Query("SELECT COALESCE((SELECT version FROM task_list_versions WHERE status = :list), 0)")
+    Mono<Long> findListVersion(String list);
+
+    // Deletes and returns the row (for the audit trail and statistics) in one round trip
+    @Query("DELETE FROM tasks WHERE id = :id RETURNING *")
+    Mono<TaskRecord> deleteReturning(Long id);
+}
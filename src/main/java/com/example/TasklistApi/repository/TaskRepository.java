@@ -1,14 +1,24 @@
 package com.example.TasklistApi.repository;
 
+import com.example.TasklistApi.dto.TaskSummary;
+import com.example.TasklistApi.dto.TaskVersion;
 import com.example.TasklistApi.model.Task;
 import com.example.TasklistApi.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -22,4 +32,155 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     @Query("SELECT t FROM Task t WHERE t.status = :status ORDER BY t.dueDate ASC")
     List<Task> findByStatusOrderByDueDateAsc(@Param("status") TaskStatus status);
-}
+
+    // Keyset pagination - the cursor is the last id of the previous page, so every
+    // page is an index range scan no matter how deep the client has paged.
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Task> findByStatusAndIdGreaterThanOrderByIdAsc(TaskStatus status, Long after, Limit limit);
+
+    List<Task> findAllByOrderByDueDateAscIdAsc(Limit limit);
+
+    List<Task> findByStatusOrderByDueDateAscIdAsc(TaskStatus status, Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE (t.dueDate, t.id) > (:dueDate, :after) ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findPageOrderByDueDate(@Param("dueDate") LocalDateTime dueDate,
+                                      @Param("after") Long after, Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE t.status = :status AND (t.dueDate, t.id) > (:dueDate, :after) " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findPageByStatusOrderByDueDate(@Param("status") TaskStatus status,
+                                              @Param("dueDate") LocalDateTime dueDate,
+                                              @Param("after") Long after, Limit limit);
+
+    // The list queries again, selecting only the columns of a TaskSummary (?fields=)
+    String SUMMARY = "SELECT new com.example.TasklistApi.dto.TaskSummary(t.id, t.title, t.status, t.dueDate) FROM Task t ";
+
+    @Query(SUMMARY)
+    List<TaskSummary> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE t.status = :status")
+    List<TaskSummary> findSummariesByStatus(@Param("status") TaskStatus status);
+
+    @Query(SUMMARY + "WHERE t.id > :after ORDER BY t.id ASC")
+    List<TaskSummary> findSummaryPageOrderById(@Param("after") Long after, Limit limit);
+
+    @Query(SUMMARY + "WHERE t.status = :status AND t.id > :after ORDER BY t.id ASC")
+    List<TaskSummary> findSummaryPageByStatusOrderById(@Param("status") TaskStatus status,
+                                                       @Param("after") Long after, Limit limit);
+
+    @Query(SUMMARY + "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskSummary> findFirstSummaryPageOrderByDueDate(Limit limit);
+
+    @Query(SUMMARY + "WHERE t.status = :status ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskSummary> findFirstSummaryPageByStatusOrderByDueDate(@Param("status") TaskStatus status, Limit limit);
+
+    @Query(SUMMARY + "WHERE (t.dueDate, t.id) > (:dueDate, :after) ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskSummary> findSummaryPageOrderByDueDate(@Param("dueDate") LocalDateTime dueDate,
+                                                    @Param("after") Long after, Limit limit);
+
+    @Query(SUMMARY + "WHERE t.status = :status AND (t.dueDate, t.id) > (:dueDate, :after) " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskSummary> findSummaryPageByStatusOrderByDueDate(@Param("status") TaskStatus status,
+                                                            @Param("dueDate") LocalDateTime dueDate,
+                                                            @Param("after") Long after, Limit limit);
+
+    // Delta sync - tasks changed after the (updatedAt, id) watermark, up to a safe upper bound
+    @Query("SELECT t FROM Task t WHERE (t.updatedAt, t.id) > (:updatedAt, :after) AND t.updatedAt <= :until " +
+           "ORDER BY t.updatedAt ASC, t.id ASC")
+    List<Task> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt, @Param("after") Long after,
+                                @Param("until") LocalDateTime until, Limit limit);
+
+    // Ranked full-text search over the search_vector column (GIN index). Every match is ranked
+    // and only the best offset + limit are kept while sorting, so the page is the true top of
+    // the ranking rather than of whichever matches the index returned first.
+    @NativeQuery("SELECT id, title, description, due_date, status, created_at, updated_at, " +
+                 "created_by, last_modified_by, version FROM tasks " +
+                 "WHERE search_vector @@ to_tsquery('english', :query) " +
+                 "ORDER BY ts_rank_cd(search_vector, to_tsquery('english', :query)) DESC, id " +
+                 "LIMIT :limit OFFSET :offset")
+    List<Task> search(@Param("query") String query, @Param("limit") int limit, @Param("offset") int offset);
+
+    // Single-statement writes: each changes the row and returns what the caller needs for the
+    // response and the audit entry, so there is no read before the write and nothing to race.
+    // Not @Modifying, which only allows an update count; @Transactional overrides the read-only
+    // default so they also work without an outer transaction.
+    // The row lock taken by the CTEs makes the previous values (and the version check) current.
+    @Transactional
+    @NativeQuery(value = "WITH previous AS (SELECT id, title, status, due_date FROM tasks WHERE id = :id FOR UPDATE) " +
+                 "UPDATE tasks t SET status = 'COMPLETED', last_modified_by = :username, updated_at = :updatedAt, " +
+                 "version = t.version + 1 FROM previous WHERE t.id = previous.id " +
+                 "RETURNING t.*, previous.title AS previous_title, previous.status AS previous_status, " +
+                 "previous.due_date AS previous_due_date",
+                 sqlResultSetMapping = Task.WITH_PREVIOUS_VALUES)
+    List<Object[]> markCompletedReturningPrevious(@Param("id") Long id, @Param("username") String username,
+                                                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    // A null status keeps the current one; a null expectedVersion updates any version.
+    @Transactional
+    @NativeQuery(value = "WITH previous AS (SELECT id, title, status, due_date FROM tasks WHERE id = :id FOR UPDATE) " +
+                 "UPDATE tasks t SET title = :title, description = :description, due_date = :dueDate, " +
+                 "status = COALESCE(CAST(:status AS VARCHAR), t.status), last_modified_by = :username, " +
+                 "updated_at = :updatedAt, version = t.version + 1 FROM previous WHERE t.id = previous.id " +
+                 "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR t.version = :expectedVersion) " +
+                 "RETURNING t.*, previous.title AS previous_title, previous.status AS previous_status, " +
+                 "previous.due_date AS previous_due_date",
+                 sqlResultSetMapping = Task.WITH_PREVIOUS_VALUES)
+    List<Object[]> updateReturningPrevious(@Param("id") Long id, @Param("title") String title,
+                                           @Param("description") String description,
+                                           @Param("dueDate") LocalDateTime dueDate, @Param("status") String status,
+                                           @Param("username") String username,
+                                           @Param("updatedAt") LocalDateTime updatedAt,
+                                           @Param("expectedVersion") Long expectedVersion);
+
+    @Transactional
+    @NativeQuery("DELETE FROM tasks WHERE id = :id RETURNING *")
+    Optional<Task> deleteReturning(@Param("id") Long id);
+
+    // Statistics reconciliation. The open-task counts use the partial idx_tasks_open_due_date,
+    // which is why the statuses are literals rather than parameters.
+    @Query("SELECT t.status, COUNT(t) FROM Task t GROUP BY t.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT t.createdBy, COUNT(t) FROM Task t GROUP BY t.createdBy")
+    List<Object[]> countByCreatedBy();
+
+    @NativeQuery("SELECT COUNT(*) FROM tasks WHERE status IN ('PENDING', 'IN_PROGRESS') AND due_date < :now")
+    long countOpenDueBefore(@Param("now") LocalDateTime now);
+
+    // {id, due date in epoch seconds} of the open tasks due in (from, until], for the deadline scheduler
+    @NativeQuery("SELECT id, CAST(FLOOR(EXTRACT(EPOCH FROM due_date)) AS BIGINT) FROM tasks " +
+                 "WHERE status IN ('PENDING', 'IN_PROGRESS') AND due_date > :from AND due_date <= :until")
+    List<Object[]> findOpenDueBetween(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    // {epoch minute of the due date, open tasks due in that minute}
+    @NativeQuery("SELECT CAST(EXTRACT(EPOCH FROM date_trunc('minute', due_date)) / 60 AS BIGINT), COUNT(*) " +
+                 "FROM tasks WHERE status IN ('PENDING', 'IN_PROGRESS') AND due_date >= :from AND due_date < :until " +
+                 "GROUP BY 1")
+    List<Object[]> countOpenDueByMinute(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    @Query("SELECT t.dueDate FROM Task t WHERE t.id = :id")
+    Optional<LocalDateTime> findDueDateById(@Param("id") Long id);
+
+    // Forward-only cursors for the streaming list endpoint. Must be consumed inside a
+    // transaction, otherwise the PostgreSQL driver ignores the fetch size and buffers everything.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByStatusOrderByIdAsc(TaskStatus status);
+
+    // Conditional request support: single-row lookups of the version of a task, and of a list
+    // ('ALL' or a status), which the database bumps whenever a task in it changes
+    @Query("SELECT new com.example.TasklistApi.dto.TaskVersion(t.id, t.version, t.updatedAt) FROM Task t WHERE t.id = :id")
+    Optional<TaskVersion> findVersionById(@Param("id") Long id);
+
+    @Query(value = "SELECT version FROM task_list_versions WHERE status = :list", nativeQuery = true)
+    Optional<Long> findListVersion(@Param("list") String list);
+}
\ No newline at end of file
@@ -0,0 +1,350 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.model.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit logs off the request path. Entries are queued in a bounded in-memory queue
+ * and a single background thread (a virtual one in virtual-thread mode) drains it, inserting
+ * whole batches with one JDBC batch (rewritten by the driver into multi-row INSERTs), their
+ * rollup counts and the change feed notifications of the batch in one transaction. Writers
+ * on different replicas do not wait for each other, so ids may commit out of order; the
+ * transaction is kept short enough for {@link TaskChangeFeed} to put them back in order.
+ *
+ * Entries submitted inside a transaction are only queued once that transaction commits, so
+ * a rolled-back change leaves no entry behind and the request pays nothing for its audit
+ * trail. The price is a loss window: an entry lives only in memory from the commit of its
+ * change until its batch is written, normally max-linger-ms and longer while a backlog
+ * drains (tasklist.audit.queue.depth), and is lost if the process dies in between. The queue
+ * is drained before a regular shutdown.
+ *
+ * When the queue is full the configured {@link OverflowPolicy} decides what happens; the
+ * default never drops an entry. A failed write is retried with backoff, and never reported
+ * to a request whose change has already committed.
+ */
+@Component
+public class AuditBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditBatchWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (id, username, action, entity_type, entity_id, details, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        /** Wait up to the offer timeout for space, then write on the caller's thread. */
+        BLOCK,
+        /** Write on the caller's thread as soon as the queue is full. */
+        CALLER_RUNS,
+        /** Discard the entry and count it. Only for deployments that accept audit gaps. */
+        DROP
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditRollups auditRollups;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasklist.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${tasklist.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${tasklist.audit.max-linger-ms:20}")
+    private long maxLingerMs;
+
+    @Value("${tasklist.audit.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${tasklist.audit.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+
+    @Value("${tasklist.audit.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${tasklist.changes.safety-lag-ms:1000}")
+    private long changesSafetyLagMs;
+
+    private BlockingQueue<AuditLog> queue;
+    private Thread writerThread;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    private Timer flushTimer;
+    private Timer latencyTimer;
+    private DistributionSummary batchSizeSummary;
+    private Counter writtenCounter;
+    private Counter droppedCounter;
+    private Counter callerRunsCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // A new transaction even on the caller's thread, where the request's own one has just committed
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("tasklist.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("tasklist.audit.flush")
+                .description("Time taken to write one batch of audit entries")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        latencyTimer = Timer.builder("tasklist.audit.latency")
+                .description("Time from an audited action until its entry is written")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("tasklist.audit.flush.batch.size")
+                .description("Audit entries written per batch")
+                .register(meterRegistry);
+        writtenCounter = meterRegistry.counter("tasklist.audit.written");
+        droppedCounter = meterRegistry.counter("tasklist.audit.dropped");
+        callerRunsCounter = meterRegistry.counter("tasklist.audit.caller.runs");
+        failedCounter = meterRegistry.counter("tasklist.audit.failed");
+
+        running = true;
+        Thread.Builder threadBuilder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        writerThread = threadBuilder.name("audit-writer").start(this::drainLoop);
+        logger.info("Audit writer started (capacity: {}, batch size: {}, overflow policy: {})",
+                queueCapacity, batchSize, overflowPolicy);
+    }
+
+    /**
+     * Queues an audit entry. Inside an active transaction the entry is held back until
+     * commit, so rolled-back mutations never leave an audit trail behind. The id is set once
+     * the entry is written.
+     */
+    public void submit(AuditLog auditLog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(auditLog);
+                }
+            });
+        } else {
+            enqueue(auditLog);
+        }
+    }
+
+    private void enqueue(AuditLog auditLog) {
+        if (running && queue.offer(auditLog)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    if (running && queue.offer(auditLog, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                writeOnCallerThread(auditLog);
+            }
+            case CALLER_RUNS -> writeOnCallerThread(auditLog);
+            case DROP -> {
+                droppedCounter.increment();
+                logger.warn("Audit queue full - dropped {} entry for {} {}",
+                        auditLog.getAction(), auditLog.getEntityType(), auditLog.getEntityId());
+            }
+        }
+    }
+
+    // A single attempt: the caller's change has committed, so a failure is logged and counted
+    // rather than thrown at a request that succeeded
+    private void writeOnCallerThread(AuditLog auditLog) {
+        callerRunsCounter.increment();
+        List<AuditLog> entries = List.of(auditLog);
+        try {
+            flushTimer.record(() -> insertBatch(entries));
+            recordWritten(entries);
+        } catch (RuntimeException e) {
+            logFailure(entries, e);
+        }
+    }
+
+    // A collected batch is only let go once it has been flushed; an interrupt cuts the
+    // lingering short but does not discard what was polled
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    AuditLog first = queue.poll(500, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+
+                // Give a trickle of writes a moment to coalesce into a bigger batch
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLingerMs);
+                while (running && batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    AuditLog next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Shutdown is signalled through the running flag; keep draining until empty
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Retries until the batch is written (the database may be down), except for entries that
+    // can never be: a bad row is split off so it does not poison the rest, and during shutdown
+    // the retries give up
+    private void flush(List<AuditLog> batch) {
+        long backoffMs = 100;
+        while (true) {
+            try {
+                flushTimer.record(() -> insertBatch(batch));
+                batchSizeSummary.record(batch.size());
+                recordWritten(batch);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                splitOrFail(batch, e);
+                return;
+            } catch (DataAccessException | TransactionException e) {
+                if (!running) {
+                    logFailure(batch, e);
+                    return;
+                }
+                logger.warn("Audit batch of {} entries failed, retrying in {} ms", batch.size(), backoffMs, e);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                backoffMs = Math.min(backoffMs * 2, 5000);
+            } catch (RuntimeException e) {
+                splitOrFail(batch, e);
+                return;
+            }
+        }
+    }
+
+    private void splitOrFail(List<AuditLog> batch, RuntimeException e) {
+        if (batch.size() > 1) {
+            batch.forEach(auditLog -> flush(List.of(auditLog)));
+        } else {
+            logFailure(batch, e);
+        }
+    }
+
+    private void logFailure(List<AuditLog> entries, RuntimeException e) {
+        failedCounter.increment(entries.size());
+        for (AuditLog auditLog : entries) {
+            logger.error("Failed to write audit entry: user '{}' performed '{}' on {} with ID: {} - {}",
+                    auditLog.getUsername(), auditLog.getAction(), auditLog.getEntityType(),
+                    auditLog.getEntityId(), auditLog.getDetails(), e);
+        }
+    }
+
+    private void recordWritten(List<AuditLog> batch) {
+        writtenCounter.increment(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (AuditLog auditLog : batch) {
+            latencyTimer.record(Duration.between(auditLog.getTimestamp(), now));
+        }
+    }
+
+    // The entries, their counts in the audit rollups and their change feed notifications
+    // commit together. Ids are drawn afresh on every attempt, under an advisory lock held
+    // until commit, so entries become visible in id order on every replica; the change feed
+    // resumes by id and relies on it.
+    // Ids are drawn last, with every statement after them bounded, so that the transaction
+    // commits well within the change feed's safety lag of drawing them
+    private void insertBatch(List<AuditLog> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            auditRollups.add(batch);
+            jdbcTemplate.query("SELECT set_config('statement_timeout', ?, true)", rs -> null,
+                    Math.max(changesSafetyLagMs / 4, 1) + "ms");
+            List<Long> ids = jdbcTemplate.queryForList("SELECT nextval('audit_logs_id_seq') FROM generate_series(1, ?)",
+                    Long.class, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(ids.get(i));
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), AuditBatchWriter::setParameters);
+            taskChangeFeed.publish(batch);
+        });
+    }
+
+    private static void setParameters(PreparedStatement ps, AuditLog auditLog) throws SQLException {
+        ps.setLong(1, auditLog.getId());
+        ps.setString(2, auditLog.getUsername());
+        ps.setString(3, auditLog.getAction());
+        ps.setString(4, auditLog.getEntityType());
+        ps.setLong(5, auditLog.getEntityId());
+        ps.setString(6, auditLog.getDetails());
+        ps.setObject(7, auditLog.getTimestamp());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        logger.info("Stopping audit writer, flushing {} queued entries", queue.size());
+        running = false;
+        writerThread.join(shutdownTimeoutMs);
+        if (!queue.isEmpty()) {
+            // The writer did not finish in time - make one last attempt on this thread
+            List<AuditLog> remaining = new ArrayList<>(queue.size());
+            queue.drainTo(remaining);
+            flush(remaining);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.TasklistApi.service;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of audit_logs (see V5__partition_audit_logs.sql).
+ * Partitions are created ahead of time, and when a retention period is configured, months
+ * older than it are detached, copied to a gzipped CSV file in the archive directory and
+ * dropped. That costs a metadata change and one sequential read per month instead of a
+ * DELETE of every expired row.
+ *
+ * Every step runs under an advisory lock, so replicas running the job at the same time do
+ * not interfere. Partitions are detached CONCURRENTLY, outside a transaction, so writers and
+ * readers of audit_logs are never blocked by it. A detach that was interrupted is finalized,
+ * and a partition that was detached but not archived (e.g. the disk was full) is picked up
+ * again, by the next run.
+ */
+@Component
+public class AuditPartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionMaintenance.class);
+
+    private static final String PARENT_TABLE = "audit_logs";
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_y(\\d{4})m(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${tasklist.audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${tasklist.audit.retention.months:0}")
+    private int retentionMonths;
+
+    @Value("${tasklist.audit.archive.directory:audit-archive}")
+    private String archiveDirectory;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onStartup() {
+        runMaintenance();
+    }
+
+    @Scheduled(cron = "${tasklist.audit.partitions.maintenance-cron:0 15 3 * * *}")
+    public void runMaintenance() {
+        try {
+            YearMonth currentMonth = YearMonth.now();
+            createPartitions(currentMonth, currentMonth.plusMonths(monthsAhead));
+            if (retentionMonths > 0) {
+                detachPartitionsBefore(currentMonth.minusMonths(retentionMonths));
+            }
+            archiveDetachedPartitions();
+        } catch (DataAccessException | UncheckedIOException e) {
+            logger.error("Audit log partition maintenance failed", e);
+        }
+    }
+
+    /** Creates the monthly partitions from {@code first} to {@code last} that do not exist yet. */
+    public void createPartitions(YearMonth first, YearMonth last) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            YearMonth partitionMonth = month;
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                if (!tableExists(partitionName(partitionMonth))) {
+                    createPartition(partitionMonth);
+                }
+            });
+        }
+    }
+
+    /**
+     * Detaches every partition for a month before {@code firstRetained}. Must not be called
+     * inside a transaction: DETACH PARTITION ... CONCURRENTLY cannot run in one.
+     */
+    public void detachPartitionsBefore(YearMonth firstRetained) {
+        for (String partition : attachedPartitions()) {
+            YearMonth month = partitionMonth(partition);
+            if (month != null && month.isBefore(firstRetained)) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SELECT pg_advisory_lock(hashtext('audit_logs_partition_maintenance'))");
+                        try {
+                            detachPartition(statement, partition);
+                        } finally {
+                            statement.execute("SELECT pg_advisory_unlock(hashtext('audit_logs_partition_maintenance'))");
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    /** Archives and drops every partition that has been detached. */
+    public void archiveDetachedPartitions() {
+        for (String partition : detachedPartitions()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                if (detachedPartitions().contains(partition)) {
+                    Path archive = archive(partition);
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    logger.info("Archived audit log partition {} to {}", partition, archive);
+                }
+            });
+        }
+    }
+
+    // Built detached and then attached: ATTACH PARTITION only takes a SHARE UPDATE EXCLUSIVE
+    // lock on audit_logs, where CREATE TABLE ... PARTITION OF would block every reader.
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        jdbcTemplate.execute("CREATE TABLE " + partition +
+                " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        logger.info("Created audit log partition {}", partition);
+    }
+
+    // Runs in autocommit. CONCURRENTLY waits for the queries using the partition instead of
+    // locking them out; a detach left pending by an earlier, interrupted run is finalized.
+    private static void detachPartition(Statement statement, String partition) throws SQLException {
+        boolean pending;
+        try (ResultSet rs = statement.executeQuery("SELECT i.inhdetachpending FROM pg_inherits i " +
+                "WHERE i.inhparent = '" + PARENT_TABLE + "'::regclass AND i.inhrelid = to_regclass('" + partition + "')")) {
+            if (!rs.next()) {
+                return;
+            }
+            pending = rs.getBoolean(1);
+        }
+        statement.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition +
+                (pending ? " FINALIZE" : " CONCURRENTLY"));
+        logger.info("Detached audit log partition {}", partition);
+    }
+
+    // Written to a temporary file first so a partially written archive is never mistaken for a
+    // complete one; the partition is only dropped once the file is in place.
+    private Path archive(String partition) {
+        Path directory = Paths.get(archiveDirectory);
+        Path target = directory.resolve(partition + ".csv.gz");
+        Path temporary = directory.resolve(partition + ".csv.gz.tmp");
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+                jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                    try {
+                        return connection.unwrap(PGConnection.class).getCopyAPI()
+                                .copyOut("COPY " + partition + " TO STDOUT (FORMAT csv, HEADER)", out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            return Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive audit log partition " + partition, e);
+        }
+    }
+
+    private void lock() {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext('audit_logs_partition_maintenance'))", rs -> null);
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, PARENT_TABLE);
+    }
+
+    private List<String> detachedPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_class c " +
+                "WHERE c.relkind = 'r' AND c.relnamespace = current_schema()::regnamespace " +
+                "AND c.relname ~ '^audit_logs_y[0-9]{4}m[0-9]{2}$' " +
+                "AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid) " +
+                "ORDER BY c.relname", String.class);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_" + PARTITION_SUFFIX.format(month);
+    }
+
+    private static YearMonth partitionMonth(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.dto.AuditStats;
+import com.example.TasklistApi.model.AuditLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Audit entry counts per hour and per day, user and action (audit_rollup_hourly and
+ * audit_rollup_daily), behind GET /api/audit/stats. Answering from them costs one index range
+ * scan over the buckets asked for, however many entries audit_logs holds.
+ *
+ * {@link AuditBatchWriter} calls {@link #add} in the transaction that inserts a batch, so the
+ * rollups count exactly what was written, the moment it is visible. Entries written some other
+ * way, such as by a replica still running an older version during a rollout, are picked up by
+ * {@link #reconcile}, which recounts the recent closed hours from audit_logs.
+ */
+@Component
+public class AuditRollups {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditRollups.class);
+
+    public enum GroupBy {
+        USER("username"), ACTION("action");
+
+        private final String column;
+
+        GroupBy(String column) {
+            this.column = column;
+        }
+    }
+
+    public enum Bucket {
+        HOUR("audit_rollup_hourly", ChronoUnit.HOURS), DAY("audit_rollup_daily", ChronoUnit.DAYS);
+
+        private final String table;
+        private final ChronoUnit unit;
+
+        Bucket(String table, ChronoUnit unit) {
+            this.table = table;
+            this.unit = unit;
+        }
+    }
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::bucket)
+            .thenComparing(Key::username).thenComparing(Key::action);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasklist.audit.rollup.reconcile-hours:24}")
+    private int reconcileHours;
+
+    private Timer reconcileTimer;
+
+    @PostConstruct
+    void init() {
+        reconcileTimer = meterRegistry.timer("tasklist.audit.rollup.reconcile");
+    }
+
+    /** Counts a batch of entries being inserted. Must run in the inserting transaction. */
+    void add(List<AuditLog> batch) {
+        for (Bucket bucket : Bucket.values()) {
+            // Sorted, so concurrent writers lock the rollup rows in the same order
+            Map<Key, Long> counts = new TreeMap<>(KEY_ORDER);
+            for (AuditLog auditLog : batch) {
+                Key key = new Key(auditLog.getTimestamp().truncatedTo(bucket.unit), auditLog.getUsername(),
+                        auditLog.getAction());
+                counts.merge(key, 1L, Long::sum);
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + bucket.table + " (bucket, username, action, count) " +
+                            "VALUES (?, ?, ?, ?) ON CONFLICT (bucket, username, action) " +
+                            "DO UPDATE SET count = " + bucket.table + ".count + EXCLUDED.count",
+                    new ArrayList<>(counts.entrySet()), counts.size(), (ps, entry) -> {
+                        ps.setObject(1, entry.getKey().bucket());
+                        ps.setString(2, entry.getKey().username());
+                        ps.setString(3, entry.getKey().action());
+                        ps.setLong(4, entry.getValue());
+                    });
+        }
+    }
+
+    /**
+     * Counts per bucket in [from, to), grouped by user or action. Only whole buckets are counted:
+     * {@code from} is rounded down to the start of its bucket and {@code to} up to the end of
+     * its, and the result reports the range actually covered. Buckets without entries are left
+     * out. Without {@code to} the range ends now; without {@code from} it covers the last day of
+     * hours or 30 days.
+     */
+    public AuditStats getStats(GroupBy groupBy, Bucket bucket, LocalDateTime from, LocalDateTime to) {
+        if (to == null) {
+            to = LocalDateTime.now();
+        }
+        if (from == null) {
+            from = bucket == Bucket.HOUR ? to.minusDays(1) : to.minusDays(30);
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        LocalDateTime start = from.truncatedTo(bucket.unit);
+        LocalDateTime end = to.truncatedTo(bucket.unit);
+        if (end.isBefore(to)) {
+            end = end.plus(1, bucket.unit);
+        }
+        Map<LocalDateTime, Map<String, Long>> buckets = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT bucket, " + groupBy.column + ", SUM(count) FROM " + bucket.table +
+                        " WHERE bucket >= ? AND bucket < ? GROUP BY 1, 2 ORDER BY 1, 2",
+                rs -> {
+                    buckets.computeIfAbsent(rs.getObject(1, LocalDateTime.class), k -> new LinkedHashMap<>())
+                            .put(rs.getString(2), rs.getLong(3));
+                }, start, end);
+
+        List<AuditStats.Bucket> result = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, counts) -> result.add(new AuditStats.Bucket(bucketStart, counts)));
+        return new AuditStats(groupBy.name().toLowerCase(), bucket.name().toLowerCase(), start, end, result);
+    }
+
+    /**
+     * Recounts the closed hours of the last {@code tasklist.audit.rollup.reconcile-hours} from
+     * audit_logs, along with the days they fall in (today excluded). The newest hour is left
+     * alone for an hour after it closes, as entries are still being written for it. Only one
+     * replica reconciles at a time.
+     */
+    @Scheduled(cron = "${tasklist.audit.rollup.reconcile-cron:0 20 * * * *}")
+    public void reconcile() {
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        LocalDateTime from = to.minusHours(reconcileHours);
+        LocalDateTime fromDay = from.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime toDay = to.truncatedTo(ChronoUnit.DAYS);
+        try {
+            reconcileTimer.record(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(hashtext('audit_rollups'))", Boolean.class);
+                if (!Boolean.TRUE.equals(locked)) {
+                    return;
+                }
+                // An entry committed concurrently is added on top of the recount by its own upsert
+                jdbcTemplate.update("DELETE FROM audit_rollup_hourly WHERE bucket >= ? AND bucket < ?", from, to);
+                int hours = jdbcTemplate.update("INSERT INTO audit_rollup_hourly (bucket, username, action, count) " +
+                        "SELECT date_trunc('hour', timestamp), username, action, COUNT(*) FROM audit_logs " +
+                        "WHERE timestamp >= ? AND timestamp < ? GROUP BY 1, 2, 3 " +
+                        "ON CONFLICT (bucket, username, action) " +
+                        "DO UPDATE SET count = audit_rollup_hourly.count + EXCLUDED.count", from, to);
+                jdbcTemplate.update("DELETE FROM audit_rollup_daily WHERE bucket >= ? AND bucket < ?", fromDay, toDay);
+                jdbcTemplate.update("INSERT INTO audit_rollup_daily (bucket, username, action, count) " +
+                        "SELECT date_trunc('day', bucket), username, action, SUM(count) FROM audit_rollup_hourly " +
+                        "WHERE bucket >= ? AND bucket < ? GROUP BY 1, 2, 3 " +
+                        "ON CONFLICT (bucket, username, action) " +
+                        "DO UPDATE SET count = audit_rollup_daily.count + EXCLUDED.count", fromDay, toDay);
+                logger.debug("Reconciled audit rollups from {} to {} ({} hourly rows)", from, to, hours);
+            }));
+        } catch (Exception e) {
+            logger.error("Error reconciling audit rollups", e);
+        }
+    }
+
+    private record Key(LocalDateTime bucket, String username, String action) {
+    }
+}
@@ -2,13 +2,18 @@ package com.example.TasklistApi.service;
 
 import com.example.TasklistApi.model.AuditLog;
 import com.example.TasklistApi.repository.AuditLogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AuditService {
@@ -18,12 +23,24 @@ public class AuditService {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
-    public void logAction(String username, String action, String entityType, Long entityId, String details) {
+    @Autowired
+    private AuditBatchWriter auditBatchWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Queues an audit entry once the current transaction commits (see {@link AuditBatchWriter}) and
+     * returns it (without id, which is assigned when it is written).
+     */
+    public AuditLog logAction(String username, String action, String entityType, Long entityId, String details) {
         AuditLog auditLog = new AuditLog(username, action, entityType, entityId, details);
-        auditLogRepository.save(auditLog);
-        
-        logger.info("AUDIT: User '{}' performed '{}' on {} with ID: {} - {}", 
+        auditBatchWriter.submit(auditLog);
+
+        // The entry itself is the record; this copy is only for following along while debugging
+        logger.debug("AUDIT: User '{}' performed '{}' on {} with ID: {} - {}",
                    username, action, entityType, entityId, details);
+        return auditLog;
     }
 
     public List<AuditLog> getAuditLogsByUser(String username) {
@@ -42,7 +59,30 @@ public class AuditService {
         return auditLogRepository.findByTimestampBetween(start, end);
     }
 
+    /** IDs of the tasks deleted in (from, until], for delta sync tombstones. */
+    public List<Long> getDeletedTaskIds(LocalDateTime from, LocalDateTime until) {
+        return auditLogRepository.findDeletedTaskIds(from, until);
+    }
+
     public List<AuditLog> getAllAuditLogs() {
         return auditLogRepository.findAll();
     }
+
+    /**
+     * Streams audit logs to the consumer straight from a forward-only cursor, optionally
+     * limited to a timestamp range. Runs as a plain read-only SELECT, so it takes no locks
+     * that would block the audit writers, and detaches every row once it has been consumed.
+     */
+    @Transactional(readOnly = true)
+    public void exportAuditLogs(LocalDateTime start, LocalDateTime end, Consumer<AuditLog> consumer) {
+        logger.info("Exporting audit logs between {} and {}", start, end);
+        try (Stream<AuditLog> auditLogs = start == null
+                ? auditLogRepository.streamAllByOrderByIdAsc()
+                : auditLogRepository.streamByTimestampBetweenOrderByTimestampAsc(start, end)) {
+            auditLogs.forEach(auditLog -> {
+                consumer.accept(auditLog);
+                entityManager.detach(auditLog);
+            });
+        }
+    }
 }
\ No newline at end of file
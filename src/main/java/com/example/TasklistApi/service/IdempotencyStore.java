@@ -0,0 +1,190 @@
+package com.example.TasklistApi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Responses to requests sent with an Idempotency-Key, kept for {@code tasklist.idempotency.ttl-ms}
+ * in the idempotency_keys table, which all replicas share. A key is claimed by inserting its row
+ * and completed with the response, both in the transaction of the request itself, so the row
+ * commits exactly when the change does: a request that fails or whose replica dies leaves no
+ * key behind, and a retry is handled afresh. A retry finds the committed row and is answered
+ * from it. Completed responses never change, so each replica also keeps the ones it has seen
+ * in a bounded near cache and answers repeats without a query.
+ *
+ * A retry while the first request is still running waits on its row lock, for up to
+ * {@code tasklist.idempotency.wait-ms}, and is then answered with the outcome. Keys are scoped
+ * to the user.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public enum Outcome {
+        /** The caller owns the key and handles the request in the same transaction, then completes it. */
+        CLAIMED,
+        /** The key was used for an identical request; its response is to be sent again. */
+        REPLAY,
+        /** The key is claimed by an identical request that has not finished yet. */
+        IN_PROGRESS,
+        /** The key was used for a different request. */
+        MISMATCH
+    }
+
+    public record StoredResponse(String requestHash, int status, String contentType, String eTag, byte[] body,
+                                 LocalDateTime createdAt) {
+    }
+
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasklist.idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${tasklist.idempotency.wait-ms:1000}")
+    private long waitMs;
+
+    @Value("${tasklist.idempotency.near-cache-size:10000}")
+    private long nearCacheSize;
+
+    private Cache<String, StoredResponse> nearCache;
+
+    @PostConstruct
+    void init() {
+        nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "idempotency");
+    }
+
+    /**
+     * Claims the key for a request with the given hash, or says why it cannot be. Must be called
+     * in the transaction that handles the request; throws CannotAcquireLockException when an
+     * identical request still holds the key after the wait, which leaves that transaction to be
+     * rolled back.
+     */
+    public Claim claim(String username, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime expiredBefore = now.minus(Duration.ofMillis(ttlMs));
+
+        StoredResponse cached = nearCache.getIfPresent(cacheKey(username, key));
+        if (cached != null && cached.createdAt().isAfter(expiredBefore)) {
+            return completed(cached, requestHash);
+        }
+
+        // Twice at most: a row found expired (or deleted meanwhile) is gone for the second insert
+        for (int attempt = 0; attempt < 2; attempt++) {
+            // Waits for a concurrent claim of the key to commit or roll back, but no longer than
+            // wait-ms; the rest of the request keeps the usual lock timeout
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + waitMs);
+            int inserted = jdbcTemplate.update("INSERT INTO idempotency_keys " +
+                            "(username, idempotency_key, request_hash, created_at) VALUES (?, ?, ?, ?) " +
+                            "ON CONFLICT (username, idempotency_key) DO NOTHING",
+                    username, key, requestHash, now);
+            jdbcTemplate.execute("SET LOCAL lock_timeout TO DEFAULT");
+            if (inserted == 1) {
+                return new Claim(Outcome.CLAIMED, null);
+            }
+
+            List<StoredResponse> rows = jdbcTemplate.query("SELECT request_hash, status, content_type, etag, body, " +
+                            "created_at, completed_at FROM idempotency_keys WHERE username = ? AND idempotency_key = ?",
+                    (rs, rowNum) -> new StoredResponse(rs.getString(1),
+                            rs.getObject(7) != null ? rs.getInt(2) : 0,
+                            rs.getString(3), rs.getString(4), rs.getBytes(5),
+                            rs.getObject(6, LocalDateTime.class)),
+                    username, key);
+            if (rows.isEmpty()) {
+                continue;
+            }
+            StoredResponse row = rows.get(0);
+            if (!row.createdAt().isAfter(expiredBefore)) {
+                jdbcTemplate.update("DELETE FROM idempotency_keys " +
+                        "WHERE username = ? AND idempotency_key = ? AND created_at = ?", username, key, row.createdAt());
+                continue;
+            }
+            if (row.status() != 0) {
+                nearCache.put(cacheKey(username, key), row);
+                return completed(row, requestHash);
+            }
+            // Never completed: a claim committed on its own by an earlier version of this class
+            return new Claim(row.requestHash().equals(requestHash) ? Outcome.IN_PROGRESS : Outcome.MISMATCH, null);
+        }
+        return new Claim(Outcome.IN_PROGRESS, null);
+    }
+
+    /**
+     * Stores the response to a key claimed in the current transaction. It is only kept, and
+     * only replayed, if the transaction commits.
+     */
+    public void complete(String username, String key, int status, String contentType, String eTag, byte[] body) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StoredResponse> rows = jdbcTemplate.query("UPDATE idempotency_keys SET status = ?, content_type = ?, " +
+                        "etag = ?, body = ?, completed_at = ? WHERE username = ? AND idempotency_key = ? " +
+                        "AND completed_at IS NULL RETURNING request_hash, created_at",
+                (rs, rowNum) -> new StoredResponse(rs.getString(1), status, contentType, eTag, body,
+                        rs.getObject(2, LocalDateTime.class)),
+                status, contentType, eTag, body, now, username, key);
+        if (rows.isEmpty()) {
+            return;
+        }
+        StoredResponse stored = rows.get(0);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            nearCache.put(cacheKey(username, key), stored);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                nearCache.put(cacheKey(username, key), stored);
+            }
+        });
+    }
+
+    /** Deletes expired keys. Any replica may run it; they delete the same rows. */
+    @Scheduled(fixedDelayString = "${tasklist.idempotency.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?",
+                    LocalDateTime.now().minus(Duration.ofMillis(ttlMs)));
+            logger.debug("Deleted {} expired idempotency keys", deleted);
+        } catch (Exception e) {
+            logger.error("Error deleting expired idempotency keys", e);
+        }
+    }
+
+    private static Claim completed(StoredResponse response, String requestHash) {
+        return response.requestHash().equals(requestHash)
+                ? new Claim(Outcome.REPLAY, response)
+                : new Claim(Outcome.MISMATCH, null);
+    }
+
+    private static String cacheKey(String username, String key) {
+        return username + '\n' + key;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.TasklistApi.service;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Receives PostgreSQL LISTEN/NOTIFY messages on a dedicated connection (outside the Hikari
+ * pool, since it is held for the lifetime of the application) and dispatches them to the
+ * handlers registered per channel. Used to keep state consistent across replicas without
+ * any extra infrastructure.
+ *
+ * Notifications sent while the connection is down are lost, so handlers can also register
+ * a callback that runs after every reconnect to resynchronise.
+ */
+@Component
+public class PostgresNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresNotificationListener.class);
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> reconnectHandlers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    /** Registers a handler for a channel. Must be called before the application is ready. */
+    public void subscribe(String channel, Consumer<String> handler) {
+        handlers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /** Registers a callback that runs whenever the connection had to be re-established. */
+    public void onReconnect(Runnable handler) {
+        reconnectHandlers.add(handler);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "pg-notification-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    private void listenLoop() {
+        long backoffMs = 1000;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                logger.info("Listening for PostgreSQL notifications on {}", handlers.keySet());
+                if (reconnecting) {
+                    reconnectHandlers.forEach(Runnable::run);
+                }
+                backoffMs = 1000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(500);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getName(), notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("PostgreSQL notification connection lost, reconnecting in {} ms", backoffMs, e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30000);
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (Consumer<String> handler : handlers.getOrDefault(channel, List.of())) {
+            try {
+                handler.accept(payload);
+            } catch (Exception e) {
+                logger.error("Error handling notification on channel {}: {}", channel, payload, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread.join(2000);
+        }
+    }
+}
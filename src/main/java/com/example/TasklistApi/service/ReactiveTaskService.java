@@ -0,0 +1,254 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.dto.BatchItemResult;
+import com.example.TasklistApi.dto.TaskDTO;
+import com.example.TasklistApi.dto.TaskSyncResponse;
+import com.example.TasklistApi.model.TaskRecord;
+import com.example.TasklistApi.model.TaskStatus;
+import com.example.TasklistApi.repository.ReactiveTaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TaskService} for the reactive profile, on R2DBC. Single
+ * task operations and all reads never block a thread; cache invalidations for the servlet
+ * replicas are published with the same NOTIFYs as {@link TaskCacheInvalidator}.
+ *
+ * Audit entries still go through {@link AuditService}, and the change feed events with them
+ * (see {@link TaskChangeFeed}). Queueing them is normally instant, but
+ * a full queue may block or write on the caller's thread, so it is done on the bounded
+ * elastic scheduler rather than an event loop. The bulk, search and sync endpoints, which are
+ * request/response exchanges of bounded size, are delegated to the JPA implementation the same way.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTaskService.class);
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Value("${tasklist.pagination.default-limit:100}")
+    private int defaultPageLimit;
+
+    @Value("${tasklist.pagination.max-limit:1000}")
+    private int maxPageLimit;
+
+    private Mono<String> getCurrentUsername() {
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(context -> context.getAuthentication() == null ? null : context.getAuthentication().getName())
+                .defaultIfEmpty("system");
+    }
+
+    public Mono<TaskDTO> createTask(TaskDTO taskDTO) {
+        return getCurrentUsername().flatMap(username -> {
+            logger.info("Creating new task: {} by user: {}", taskDTO.getTitle(), username);
+
+            TaskRecord task = new TaskRecord();
+            LocalDateTime now = LocalDateTime.now();
+            task.setCreatedAt(now);
+            task.setCreatedBy(username);
+            applyUpdate(task, taskDTO, username, now);
+
+            return taskRepository.save(task).flatMap(savedTask ->
+                    afterWrite(username, "CREATE", savedTask.getId(), "Created task: " + savedTask.getTitle(),
+                            add(new TaskStatistics.Delta(), savedTask))
+                            .thenReturn(convertToDTO(savedTask)));
+        });
+    }
+
+    /**
+     * Updates a task, optionally only if it is still at {@code expectedVersion}. Empty if the
+     * task does not exist; a version mismatch, or a concurrent update slipping in before the
+     * write, fails with {@link OptimisticLockingFailureException}.
+     */
+    public Mono<TaskDTO> updateTask(Long id, TaskDTO taskDTO, Long expectedVersion) {
+        return getCurrentUsername().flatMap(username -> {
+            logger.info("Updating task with ID: {} by user: {}", id, username);
+            return taskRepository.findById(id).flatMap(task -> {
+                if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                    return Mono.error(new OptimisticLockingFailureException("Task " + id + " is at version "
+                            + task.getVersion() + ", expected " + expectedVersion));
+                }
+                String details = String.format("Updated task from '%s' (status: %s) to '%s' (status: %s)",
+                        task.getTitle(), task.getStatus(), taskDTO.getTitle(),
+                        taskDTO.getStatus() != null ? taskDTO.getStatus() : task.getStatus());
+                TaskStatistics.Delta delta = remove(new TaskStatistics.Delta(), task);
+                applyUpdate(task, taskDTO, username, LocalDateTime.now());
+                return taskRepository.save(task).flatMap(updatedTask ->
+                        afterWrite(username, "UPDATE", id, details, add(delta, updatedTask))
+                                .thenReturn(convertToDTO(updatedTask)));
+            });
+        });
+    }
+
+    /** Marks a task as completed; empty if it does not exist. */
+    public Mono<TaskDTO> markTaskAsCompleted(Long id) {
+        return getCurrentUsername().flatMap(username -> {
+            logger.info("Marking task as completed with ID: {} by user: {}", id, username);
+            return taskRepository.findById(id).flatMap(task -> {
+                TaskStatistics.Delta delta = remove(new TaskStatistics.Delta(), task);
+                task.setStatus(TaskStatus.COMPLETED);
+                task.setLastModifiedBy(username);
+                task.setUpdatedAt(LocalDateTime.now());
+                return taskRepository.save(task).flatMap(updatedTask ->
+                        afterWrite(username, "COMPLETE", id, "Marked task as completed: " + task.getTitle(),
+                                add(delta, updatedTask))
+                                .thenReturn(convertToDTO(updatedTask)));
+            });
+        });
+    }
+
+    public Mono<Boolean> deleteTask(Long id) {
+        return getCurrentUsername().flatMap(username -> {
+            logger.info("Deleting task with ID: {} by user: {}", id, username);
+            return taskRepository.deleteReturning(id)
+                    .flatMap(task -> afterWrite(username, "DELETE", id, "Deleted task: " + task.getTitle(),
+                            remove(new TaskStatistics.Delta(), task)).thenReturn(true))
+                    .defaultIfEmpty(false);
+        });
+    }
+
+    public Mono<List<BatchItemResult>> createTasks(List<TaskDTO> taskDTOs) {
+        return Mono.fromCallable(() -> taskService.createTasks(taskDTOs)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<BatchItemResult>> updateTasks(List<TaskDTO> taskDTOs) {
+        return Mono.fromCallable(() -> taskService.updateTasks(taskDTOs)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<BatchItemResult>> markTasksAsCompleted(List<Long> ids) {
+        return Mono.fromCallable(() -> taskService.markTasksAsCompleted(ids)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<TaskDTO>> searchTasks(String q, Integer limit, Integer offset) {
+        return Mono.fromCallable(() -> taskService.searchTasks(q, limit, offset)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<TaskSyncResponse> syncTasks(String since, Integer limit) {
+        return Mono.fromCallable(() -> taskService.syncTasks(since, limit)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** Every task (optionally filtered by status) in id order, read as the subscriber demands. */
+    public Flux<TaskDTO> getTasks(TaskStatus status) {
+        logger.debug("Fetching tasks with status: {}", status);
+        Flux<TaskRecord> tasks = status == null
+                ? taskRepository.findAllByOrderByIdAsc()
+                : taskRepository.findByStatusOrderByIdAsc(status);
+        return tasks.map(this::convertToDTO);
+    }
+
+    /** Keyset pagination with the same parameters as {@link TaskService#getTasksPage}. */
+    public Flux<TaskDTO> getTasksPage(TaskStatus status, Long after, Integer limit, String sort) {
+        int pageSize = limit == null ? defaultPageLimit : limit;
+        if (pageSize < 1 || pageSize > maxPageLimit) {
+            return Flux.error(new IllegalArgumentException("limit must be between 1 and " + maxPageLimit));
+        }
+        logger.debug("Fetching tasks page after: {} limit: {} sort: {} status: {}", after, pageSize, sort, status);
+
+        Flux<TaskRecord> tasks;
+        if ("id".equals(sort)) {
+            long cursor = after == null ? 0L : after;
+            tasks = status == null
+                    ? taskRepository.findPage(cursor, pageSize)
+                    : taskRepository.findPageByStatus(status.name(), cursor, pageSize);
+        } else if ("dueDate".equals(sort)) {
+            if (after == null) {
+                tasks = status == null
+                        ? taskRepository.findFirstPageOrderByDueDate(pageSize)
+                        : taskRepository.findFirstPageByStatusOrderByDueDate(status.name(), pageSize);
+            } else {
+                tasks = taskRepository.findDueDateById(after)
+                        .switchIfEmpty(Mono.error(new IllegalArgumentException("Unknown cursor: " + after)))
+                        .flatMapMany(cursorDueDate -> status == null
+                                ? taskRepository.findPageOrderByDueDate(cursorDueDate, after, pageSize)
+                                : taskRepository.findPageByStatusOrderByDueDate(status.name(), cursorDueDate,
+                                        after, pageSize));
+            }
+        } else {
+            return Flux.error(new IllegalArgumentException("Unsupported sort: " + sort));
+        }
+        return tasks.map(this::convertToDTO);
+    }
+
+    public Mono<TaskDTO> getTaskById(Long id) {
+        logger.debug("Fetching task with ID: {}", id);
+        return taskRepository.findById(id).map(this::convertToDTO);
+    }
+
+    /** Same list token as {@link TaskService#getTaskListVersion}. */
+    public Mono<Long> getTaskListVersion(TaskStatus status) {
+        return taskRepository.findListVersion(status == null ? TaskService.ALL_TASKS : status.name());
+    }
+
+    // Audit entry (and with it the change feed event), cross-replica cache invalidation and
+    // statistics update for a successful write
+    private Mono<Void> afterWrite(String username, String action, Long id, String details,
+                                  TaskStatistics.Delta delta) {
+        Mono<Void> audit = Mono.<Void>fromRunnable(() -> auditService.logAction(username, action, "TASK", id, details))
+                .subscribeOn(Schedulers.boundedElastic());
+        Mono<Void> notify = databaseClient
+                .sql("SELECT pg_notify(:cacheChannel, :cachePayload), pg_notify(:statsChannel, :statsPayload)")
+                .bind("cacheChannel", TaskCacheInvalidator.CHANNEL)
+                .bind("cachePayload", TaskCacheInvalidator.payload(id))
+                .bind("statsChannel", TaskStatistics.CHANNEL)
+                .bind("statsPayload", TaskStatistics.payload(delta))
+                .fetch().all().then();
+        return audit.then(notify);
+    }
+
+    private static TaskStatistics.Delta add(TaskStatistics.Delta delta, TaskRecord task) {
+        return delta.add(task.getStatus(), task.getDueDate(), task.getCreatedBy());
+    }
+
+    private static TaskStatistics.Delta remove(TaskStatistics.Delta delta, TaskRecord task) {
+        return delta.remove(task.getStatus(), task.getDueDate(), task.getCreatedBy());
+    }
+
+    private void applyUpdate(TaskRecord task, TaskDTO taskDTO, String username, LocalDateTime now) {
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setDueDate(taskDTO.getDueDate());
+        if (taskDTO.getStatus() != null) {
+            task.setStatus(taskDTO.getStatus());
+        }
+        task.setLastModifiedBy(username);
+        task.setUpdatedAt(now);
+    }
+
+    private TaskDTO convertToDTO(TaskRecord task) {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(task.getId());
+        taskDTO.setTitle(task.getTitle());
+        taskDTO.setDescription(task.getDescription());
+        taskDTO.setDueDate(task.getDueDate());
+        taskDTO.setStatus(task.getStatus());
+        taskDTO.setCreatedAt(task.getCreatedAt());
+        taskDTO.setUpdatedAt(task.getUpdatedAt());
+        taskDTO.setVersion(task.getVersion());
+        return taskDTO;
+    }
+}
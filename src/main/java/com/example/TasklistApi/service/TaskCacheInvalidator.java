@@ -0,0 +1,129 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.config.CacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Keeps the task caches of every replica consistent. A write evicts the local entries and
+ * publishes a NOTIFY on {@value #CHANNEL}; because NOTIFY is transactional it is delivered
+ * only once the write commits, and every replica (this one included) evicts again on
+ * receipt. That second eviction also closes the window in which a concurrent reader could
+ * have re-cached the pre-commit row.
+ *
+ * Payload format: {@code <taskId>:<publishedAtMillis>}, or {@code *:<publishedAtMillis>}
+ * to clear everything (used by bulk operations).
+ */
+@Component
+public class TaskCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCacheInvalidator.class);
+
+    static final String CHANNEL = "task_cache_invalidation";
+    private static final String ALL = "*";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostgresNotificationListener notificationListener;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer invalidationLag;
+    private Counter invalidationsReceived;
+
+    @PostConstruct
+    void init() {
+        invalidationLag = Timer.builder("tasklist.cache.invalidation.lag")
+                .description("Time between a write on any replica and the local cache eviction it caused")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        invalidationsReceived = meterRegistry.counter("tasklist.cache.invalidations.received");
+
+        notificationListener.subscribe(CHANNEL, this::onNotification);
+        // Notifications may have been missed while disconnected
+        notificationListener.onReconnect(this::evictAllLocally);
+    }
+
+    /** Evicts a single task (and the per-status lists) on every replica. */
+    public void evictTask(Long id) {
+        evictTaskLocally(id);
+        publish(String.valueOf(id));
+    }
+
+    /** Evicts every cached task on every replica. */
+    public void evictAll() {
+        evictAllLocally();
+        publish(ALL);
+    }
+
+    private void publish(String target) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload(target));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(target);
+                }
+            });
+        }
+    }
+
+    // Also used by the reactive stack, which publishes over R2DBC
+    static String payload(Object target) {
+        return target + ":" + System.currentTimeMillis();
+    }
+
+    private void onNotification(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0) {
+            logger.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        evict(payload.substring(0, separator));
+        invalidationsReceived.increment();
+        long publishedAt = Long.parseLong(payload.substring(separator + 1));
+        invalidationLag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - publishedAt)));
+    }
+
+    private void evict(String target) {
+        if (ALL.equals(target)) {
+            evictAllLocally();
+        } else {
+            evictTaskLocally(Long.valueOf(target));
+        }
+    }
+
+    private void evictTaskLocally(Long id) {
+        cache(CacheConfig.TASK_CACHE).evict(id);
+        cache(CacheConfig.TASKS_BY_STATUS_CACHE).clear();
+    }
+
+    private void evictAllLocally() {
+        cache(CacheConfig.TASK_CACHE).clear();
+        cache(CacheConfig.TASKS_BY_STATUS_CACHE).clear();
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
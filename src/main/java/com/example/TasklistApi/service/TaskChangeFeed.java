@@ -0,0 +1,427 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.dto.TaskChangeEvent;
+import com.example.TasklistApi.model.AuditLog;
+import com.example.TasklistApi.repository.AuditLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events feed of task mutations. AuditBatchWriter publishes every task audit entry
+ * as a NOTIFY on {@value #CHANNEL} in the transaction that inserts it, so it is only delivered
+ * once the entry is stored, and reaches the subscribers on every replica alike. Each notification is serialized once and
+ * handed to all local subscribers.
+ *
+ * Offering a change to a subscriber never blocks: each has a bounded queue, drained by a
+ * virtual thread of its own while there is something to send, so a client that stops reading
+ * parks only that thread. One that falls too far behind is disconnected and catches up by
+ * reconnecting.
+ *
+ * Event ids are audit entry ids. Writers draw them without coordinating, so they can commit
+ * slightly out of order; every change is therefore held back for the safety lag after its
+ * notification arrives and then released together with all held changes of lower ids, in id
+ * order. AuditBatchWriter commits well within the lag of drawing its ids, so a change arriving
+ * with an id below one already released is rare; it is still sent, and counted as
+ * tasklist.changes.late.
+ *
+ * Reconnects send the id of the last event seen. Once the lag has passed, every id drawn by the
+ * time the client registered has committed or rolled back, so those are replayed from
+ * audit_logs and later ones arrive live: a resumed client misses nothing that committed before
+ * or while it was away.
+ */
+@Component
+public class TaskChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    static final String CHANNEL = "task_changes";
+
+    private static final String ENTITY_TYPE = "TASK";
+
+    static final String EVENT_NAME = "task";
+    /** Sent when more changes were missed than are replayed; the client should reload its tasks. */
+    static final String RESET_EVENT_NAME = "reset";
+
+    private static final Change HEARTBEAT = new Change(null, null, null, null);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostgresNotificationListener notificationListener;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasklist.changes.subscriber-queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${tasklist.changes.replay-limit:10000}")
+    private int replayLimit;
+
+    @Value("${tasklist.changes.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${tasklist.changes.safety-lag-ms:1000}")
+    private long safetyLagMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ExecutorService senders;
+    private Counter slowConsumers;
+    private Counter lateChanges;
+
+    // Confined to the releaser thread
+    private final TreeMap<Long, Change> held = new TreeMap<>();
+    private long releasedUpTo = Long.MIN_VALUE;
+    private ScheduledExecutorService releaser;
+
+    @PostConstruct
+    void init() {
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-changes-", 0).factory());
+        Gauge.builder("tasklist.changes.subscribers", subscribers, Set::size)
+                .description("Open change feed connections on this replica")
+                .register(meterRegistry);
+        slowConsumers = meterRegistry.counter("tasklist.changes.slow.consumers");
+        lateChanges = meterRegistry.counter("tasklist.changes.late");
+        releaser = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("task-changes-releaser")
+                .daemon(true).factory());
+
+        notificationListener.subscribe(CHANNEL, this::onNotification);
+    }
+
+    /**
+     * Publishes the task changes among audit entries that are being inserted, in a single
+     * statement of the inserting transaction; the notifications are delivered when it commits.
+     */
+    public void publish(List<AuditLog> auditLogs) {
+        String[] payloads = auditLogs.stream()
+                .filter(auditLog -> ENTITY_TYPE.equals(auditLog.getEntityType()))
+                .map(TaskChangeFeed::payload)
+                .toArray(String[]::new);
+        if (payloads.length > 0) {
+            jdbcTemplate.query("SELECT pg_notify(?, p) FROM unnest(?::text[]) p", rs -> null, CHANNEL, payloads);
+        }
+    }
+
+    // <auditId>:<taskId>:<timestamp as epoch microseconds>:<action>:<username>
+    static String payload(AuditLog auditLog) {
+        return auditLog.getId() + ":" + auditLog.getEntityId() + ":"
+                + ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), auditLog.getTimestamp())
+                + ":" + auditLog.getAction() + ":" + auditLog.getUsername();
+    }
+
+    /** The change in a notification on {@value #CHANNEL}, or null if it is malformed. */
+    static TaskChangeEvent parse(String payload) {
+        String[] parts = payload.split(":", 5);
+        if (parts.length < 5) {
+            return null;
+        }
+        try {
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC)
+                    .plus(Long.parseLong(parts[2]), ChronoUnit.MICROS);
+            return new TaskChangeEvent(Long.valueOf(parts[0]), parts[3], Long.valueOf(parts[1]), parts[4], timestamp);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** Opens an SSE stream, first replaying what was missed since {@code lastEventId} if given. */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SseSubscriber subscriber = new SseSubscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        start(subscriber, lastEventId);
+        return emitter;
+    }
+
+    /** Reactive variant of {@link #subscribe(String)}; changes are only sent as they are requested. */
+    public Flux<ServerSentEvent<String>> subscribeReactive(String lastEventId) {
+        return Flux.create(sink -> {
+            FluxSubscriber subscriber = new FluxSubscriber(sink);
+            sink.onRequest(requested -> subscriber.schedule());
+            sink.onDispose(subscriber::close);
+            start(subscriber, lastEventId);
+        });
+    }
+
+    @Scheduled(fixedRateString = "${tasklist.changes.heartbeat-ms:30000}")
+    void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    // Registers first and replays afterwards, so nothing falls between the two
+    private void start(Subscriber subscriber, String lastEventId) {
+        subscribers.add(subscriber);
+        senders.execute(() -> {
+            try {
+                if (lastEventId == null) {
+                    subscriber.start(null, List.of());
+                } else {
+                    replay(subscriber, lastEventId);
+                }
+            } catch (Exception e) {
+                logger.warn("Could not replay task changes after {}", lastEventId, e);
+                subscriber.close();
+            }
+        });
+    }
+
+    // Ids from before they were audit entry ids get a reset too
+    private void replay(Subscriber subscriber, String lastEventId) throws IOException, InterruptedException {
+        Long auditId = TaskChangeEvent.auditIdOf(lastEventId);
+        if (auditId == null) {
+            subscriber.start(null, List.of(new Change(null, null, RESET_EVENT_NAME, "{}")));
+            return;
+        }
+        // Ids drawn from now on are delivered live; the ones before have settled once the lag has passed
+        long upTo = Math.max(auditId, jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value ELSE last_value - 1 END FROM audit_logs_id_seq", Long.class));
+        Thread.sleep(safetyLagMs);
+        List<AuditLog> missed = auditLogRepository.findTaskChangesBetween(auditId, upTo, Limit.of(replayLimit + 1));
+        if (missed.size() > replayLimit) {
+            subscriber.start(auditId, List.of(new Change(null, null, RESET_EVENT_NAME, "{}")));
+            return;
+        }
+        subscriber.start(upTo, missed.stream()
+                .map(auditLog -> change(new TaskChangeEvent(auditLog.getId(), auditLog.getAction(),
+                        auditLog.getEntityId(), auditLog.getUsername(), auditLog.getTimestamp())))
+                .toList());
+    }
+
+    private void onNotification(String payload) {
+        TaskChangeEvent event = parse(payload);
+        if (event == null) {
+            logger.warn("Ignoring malformed task change: {}", payload);
+            return;
+        }
+        Change change = change(event);
+        releaser.execute(() -> hold(change));
+    }
+
+    private void hold(Change change) {
+        if (change.auditId() <= releasedUpTo) {
+            lateChanges.increment();
+            logger.debug("Task change {} arrived after the safety lag", change.auditId());
+            deliver(change);
+            return;
+        }
+        held.put(change.auditId(), change);
+        releaser.schedule(() -> release(change.auditId()), safetyLagMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void release(long upTo) {
+        Map<Long, Change> released = held.headMap(upTo, true);
+        released.values().forEach(this::deliver);
+        released.clear();
+        releasedUpTo = Math.max(releasedUpTo, upTo);
+    }
+
+    private void deliver(Change change) {
+        subscribers.forEach(subscriber -> subscriber.offer(change));
+    }
+
+    private Change change(TaskChangeEvent event) {
+        try {
+            return new Change(event.getAuditId(), event.getEventId(), EVENT_NAME, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        releaser.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    /** A serialized event; a null name marks a heartbeat comment. */
+    record Change(Long auditId, String id, String name, String data) {
+    }
+
+    /**
+     * Queue of pending changes for one connection. At most one sender drains it at a time, and
+     * nothing is sent before the replay has been.
+     */
+    private abstract class Subscriber {
+
+        private final ConcurrentLinkedQueue<Change> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean started;
+        // Live changes up to the end of the replayed range (or the last one seen before
+        // reconnecting) were queued during the replay and are not sent again
+        private long replayedUpTo = Long.MIN_VALUE;
+
+        abstract void send(Change change) throws IOException;
+
+        abstract void complete();
+
+        boolean ready() {
+            return true;
+        }
+
+        void offer(Change change) {
+            if (closed.get()) {
+                return;
+            }
+            if (size.incrementAndGet() > queueCapacity) {
+                slowConsumers.increment();
+                logger.debug("Disconnecting slow change feed subscriber ({} changes pending)", queueCapacity);
+                close();
+                return;
+            }
+            queue.add(change);
+            schedule();
+        }
+
+        void start(Long replayedUpTo, List<Change> replay) throws IOException {
+            if (replayedUpTo != null) {
+                this.replayedUpTo = replayedUpTo;
+            }
+            for (Change change : replay) {
+                send(change);
+            }
+            started = true;
+            schedule();
+        }
+
+        void schedule() {
+            if (started && !closed.get() && !queue.isEmpty() && ready() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (ready()) {
+                    Change change = queue.poll();
+                    if (change == null) {
+                        break;
+                    }
+                    size.decrementAndGet();
+                    if (change.auditId() == null || change.auditId() > replayedUpTo) {
+                        send(change);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // The client went away
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // Changes offered after the last poll but before the flag was cleared
+            schedule();
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                queue.clear();
+                complete();
+            }
+        }
+    }
+
+    private class SseSubscriber extends Subscriber {
+
+        private final SseEmitter emitter;
+
+        SseSubscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        void send(Change change) throws IOException {
+            if (change.name() == null) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else if (change.id() == null) {
+                emitter.send(SseEmitter.event().name(change.name()).data(change.data(), MediaType.APPLICATION_JSON));
+            } else {
+                emitter.send(SseEmitter.event().id(change.id()).name(change.name())
+                        .data(change.data(), MediaType.APPLICATION_JSON));
+            }
+        }
+
+        @Override
+        void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    private class FluxSubscriber extends Subscriber {
+
+        private final FluxSink<ServerSentEvent<String>> sink;
+
+        FluxSubscriber(FluxSink<ServerSentEvent<String>> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        boolean ready() {
+            return sink.requestedFromDownstream() > 0;
+        }
+
+        @Override
+        void send(Change change) {
+            if (change.name() == null) {
+                sink.next(ServerSentEvent.<String>builder().comment("heartbeat").build());
+            } else {
+                sink.next(ServerSentEvent.<String>builder().id(change.id()).event(change.name()).data(change.data()).build());
+            }
+        }
+
+        @Override
+        void complete() {
+            sink.complete();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.dto.TaskChangeEvent;
+import com.example.TasklistApi.model.Task;
+import com.example.TasklistApi.model.TaskStatus;
+import com.example.TasklistApi.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends a DUE_SOON reminder (a lead time before the due date) and an OVERDUE event (at the due
+ * date) for every pending or in-progress task. Both are recorded in the audit trail and go
+ * out on the change feed like any other task event; the task itself is left as it is.
+ *
+ * Only the replica holding a session-level advisory lock, on a dedicated connection, fires
+ * deadlines. The leader keeps the deadlines of the next {@code horizon} in a delay queue (a
+ * single-threaded ScheduledThreadPoolExecutor), loaded with one range scan of the open-task
+ * due date index and extended as time passes. Every task write on any replica reaches it via
+ * the change feed NOTIFY, upon which the task's deadlines are re-read and replaced.
+ *
+ * When leadership moves, the new leader also fires deadlines that passed within the catch-up
+ * window, as the old leader may not have; around a failover a reminder can therefore be sent
+ * twice, or not at all if there was no leader for longer than the catch-up window.
+ */
+@Component
+@ConditionalOnProperty(name = "tasklist.deadlines.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskDeadlineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDeadlineScheduler.class);
+
+    static final String DUE_SOON = "DUE_SOON";
+    static final String OVERDUE = "OVERDUE";
+    private static final String USERNAME = "system";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private PostgresNotificationListener notificationListener;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasklist.deadlines.lead-time-ms:3600000}")
+    private long leadTimeMs;
+
+    @Value("${tasklist.deadlines.horizon-ms:86400000}")
+    private long horizonMs;
+
+    @Value("${tasklist.deadlines.catch-up-ms:300000}")
+    private long catchUpMs;
+
+    private ScheduledThreadPoolExecutor executor;
+    private volatile boolean leader;
+    // Only used by checkLeadership, which the scheduler never runs concurrently
+    private Connection lockConnection;
+
+    // Only used on the executor thread
+    private final Map<Long, List<ScheduledFuture<?>>> deadlines = new HashMap<>();
+    private LocalDateTime loadedUntil;
+    private ScheduledFuture<?> extension;
+
+    @PostConstruct
+    void init() {
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "task-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+
+        Gauge.builder("tasklist.deadlines.scheduled", executor, e -> e.getQueue().size())
+                .description("Deadlines waiting to fire on this replica")
+                .register(meterRegistry);
+        Gauge.builder("tasklist.deadlines.leader", () -> leader ? 1 : 0)
+                .description("Whether this replica fires the task deadlines")
+                .register(meterRegistry);
+
+        notificationListener.subscribe(TaskChangeFeed.CHANNEL, this::onTaskChange);
+        // Changes may have been missed while disconnected
+        notificationListener.onReconnect(() -> executor.execute(this::reload));
+    }
+
+    /** Takes the advisory lock if nobody holds it, and steps down if its connection was lost. */
+    @Scheduled(fixedDelayString = "${tasklist.deadlines.leader-check-ms:5000}")
+    public void checkLeadership() {
+        try {
+            if (lockConnection == null || !lockConnection.isValid(2)) {
+                if (leader) {
+                    logger.warn("Lost the task deadline lock connection, stepping down");
+                    leader = false;
+                    executor.execute(this::clear);
+                }
+                closeLockConnection();
+                lockConnection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+            }
+            if (!leader) {
+                try (Statement statement = lockConnection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT pg_try_advisory_lock(hashtext('task_deadlines'))")) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        logger.info("Acquired the task deadline lock, this replica now fires deadlines");
+                        leader = true;
+                        executor.execute(this::reload);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Error checking task deadline leadership", e);
+        }
+    }
+
+    private void onTaskChange(String payload) {
+        TaskChangeEvent event = TaskChangeFeed.parse(payload);
+        // Our own events change nothing about the deadlines
+        if (!leader || event == null || DUE_SOON.equals(event.getAction()) || OVERDUE.equals(event.getAction())) {
+            return;
+        }
+        executor.execute(() -> refresh(event.getTaskId()));
+    }
+
+    // Re-reads a task after a write and replaces its deadlines
+    private void refresh(Long taskId) {
+        if (!leader || loadedUntil == null) {
+            return;
+        }
+        cancel(taskId);
+        try {
+            Optional<Task> task = taskRepository.findById(taskId);
+            if (task.isPresent() && isOpen(task.get()) && !task.get().getDueDate().isAfter(loadedUntil)) {
+                schedule(taskId, task.get().getDueDate(), LocalDateTime.now());
+            }
+        } catch (Exception e) {
+            logger.error("Error rescheduling the deadlines of task {}", taskId, e);
+        }
+    }
+
+    private void reload() {
+        clear();
+        if (!leader) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        loadedUntil = now.minus(Duration.ofMillis(catchUpMs));
+        load(now.minus(Duration.ofMillis(catchUpMs)));
+    }
+
+    // Loads every open task due between the end of what is loaded and the horizon
+    private void load(LocalDateTime catchUpFrom) {
+        if (!leader) {
+            return;
+        }
+        long nextLoadMs = horizonMs / 2;
+        try {
+            LocalDateTime until = LocalDateTime.now().plus(Duration.ofMillis(horizonMs + leadTimeMs));
+            List<Object[]> due = taskRepository.findOpenDueBetween(loadedUntil, until);
+            for (Object[] row : due) {
+                Long taskId = ((Number) row[0]).longValue();
+                cancel(taskId);
+                schedule(taskId, LocalDateTime.ofEpochSecond(((Number) row[1]).longValue(), 0, ZoneOffset.UTC),
+                        catchUpFrom);
+            }
+            logger.debug("Loaded {} task deadlines due until {}", due.size(), until);
+            loadedUntil = until;
+        } catch (Exception e) {
+            logger.error("Error loading task deadlines, retrying in a minute", e);
+            nextLoadMs = Math.min(nextLoadMs, 60000);
+        }
+        extension = executor.schedule(() -> load(LocalDateTime.now()), nextLoadMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void schedule(Long taskId, LocalDateTime dueDate, LocalDateTime notBefore) {
+        List<ScheduledFuture<?>> futures = new ArrayList<>(2);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime remindAt = dueDate.minus(Duration.ofMillis(leadTimeMs));
+        if (remindAt.isAfter(notBefore)) {
+            futures.add(executor.schedule(() -> fire(taskId, DUE_SOON),
+                    Math.max(0, Duration.between(now, remindAt).toMillis()), TimeUnit.MILLISECONDS));
+        }
+        if (dueDate.isAfter(notBefore)) {
+            futures.add(executor.schedule(() -> fire(taskId, OVERDUE),
+                    Math.max(0, Duration.between(now, dueDate).toMillis()), TimeUnit.MILLISECONDS));
+        }
+        if (!futures.isEmpty()) {
+            deadlines.put(taskId, futures);
+        }
+    }
+
+    private void fire(Long taskId, String action) {
+        if (!leader) {
+            return;
+        }
+        if (OVERDUE.equals(action)) {
+            deadlines.remove(taskId);
+        }
+        try {
+            // Still open and still due as scheduled (a change not yet notified may have moved it)
+            Optional<Task> task = taskRepository.findById(taskId);
+            LocalDateTime now = LocalDateTime.now();
+            if (task.isEmpty() || !isOpen(task.get())) {
+                return;
+            }
+            LocalDateTime dueDate = task.get().getDueDate();
+            String details;
+            if (OVERDUE.equals(action) && !dueDate.isAfter(now)) {
+                details = "Task is overdue: " + task.get().getTitle();
+            } else if (DUE_SOON.equals(action) && dueDate.isAfter(now)
+                    && !dueDate.minus(Duration.ofMillis(leadTimeMs)).isAfter(now)) {
+                details = "Task is due at " + dueDate + ": " + task.get().getTitle();
+            } else {
+                return;
+            }
+            auditService.logAction(USERNAME, action, "TASK", taskId, details);
+            meterRegistry.counter("tasklist.deadlines.fired", "action", action).increment();
+        } catch (Exception e) {
+            logger.error("Error firing {} for task {}", action, taskId, e);
+        }
+    }
+
+    private void cancel(Long taskId) {
+        List<ScheduledFuture<?>> futures = deadlines.remove(taskId);
+        if (futures != null) {
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    private void clear() {
+        deadlines.values().forEach(futures -> futures.forEach(future -> future.cancel(false)));
+        deadlines.clear();
+        if (extension != null) {
+            extension.cancel(false);
+            extension = null;
+        }
+        loadedUntil = null;
+    }
+
+    private static boolean isOpen(Task task) {
+        return task.getStatus() == TaskStatus.PENDING || task.getStatus() == TaskStatus.IN_PROGRESS;
+    }
+
+    private void closeLockConnection() {
+        if (lockConnection != null) {
+            try {
+                lockConnection.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing the task deadline lock connection", e);
+            }
+            lockConnection = null;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        leader = false;
+        executor.shutdownNow();
+        // Releases the lock, so another replica takes over at its next check
+        closeLockConnection();
+    }
+}
@@ -1,23 +1,67 @@
 package com.example.TasklistApi.service;
 
+import com.example.TasklistApi.config.CacheConfig;
+import com.example.TasklistApi.dto.BatchItemResult;
 import com.example.TasklistApi.dto.TaskDTO;
+import com.example.TasklistApi.dto.TaskSummary;
+import com.example.TasklistApi.dto.TaskSyncResponse;
+import com.example.TasklistApi.dto.TaskVersion;
 import com.example.TasklistApi.model.Task;
 import com.example.TasklistApi.model.TaskStatus;
 import com.example.TasklistApi.repository.TaskRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Task reads and writes. Every public method runs in an observation, so each call is a trace
+ * span and is timed as {@code tasklist.task.service} (tagged with the method); calls from one
+ * method of this class to another are not intercepted.
+ */
 @Service
+@Observed(name = "tasklist.task.service")
 public class TaskService {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
+
+    /** Key of the version of the whole task list in task_list_versions; the others are statuses. */
+    public static final String ALL_TASKS = "ALL";
+
+    /** A list of tasks and the version of the list it was read at. */
+    public record TaskList(long version, List<TaskDTO> tasks) {
+    }
     
     @Autowired
     private TaskRepository taskRepository;
@@ -25,6 +69,41 @@ public class TaskService {
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private TaskCacheInvalidator taskCacheInvalidator;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tasklist.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${tasklist.pagination.default-limit:100}")
+    private int defaultPageLimit;
+
+    @Value("${tasklist.pagination.max-limit:1000}")
+    private int maxPageLimit;
+
+    @Value("${tasklist.search.max-results:10000}")
+    private int searchMaxResults;
+
+    @Value("${tasklist.sync.safety-lag-ms:5000}")
+    private long syncSafetyLagMs;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
     private String getCurrentUsername() {
         try {
             return SecurityContextHolder.getContext().getAuthentication().getName();
@@ -33,6 +112,7 @@ public class TaskService {
         }
     }
 
+    @Transactional
     public TaskDTO createTask(TaskDTO taskDTO) {
         String username = getCurrentUsername();
         logger.info("Creating new task: {} by user: {}", taskDTO.getTitle(), username);
@@ -42,6 +122,8 @@ public class TaskService {
         task.setLastModifiedBy(username);
         
         Task savedTask = taskRepository.save(task);
+        taskCacheInvalidator.evictTask(savedTask.getId());
+        taskStatistics.publish(new TaskStatistics.Delta().add(savedTask));
         
         // Log audit trail
         auditService.logAction(username, "CREATE", "TASK", savedTask.getId(), 
@@ -52,52 +134,66 @@ public class TaskService {
     }
 
     public Optional<TaskDTO> updateTask(Long id, TaskDTO taskDTO) {
+        return updateTask(id, taskDTO, null);
+    }
+
+    /**
+     * Updates a task, optionally only if it is still at {@code expectedVersion} (the If-Match
+     * of the request), with a single UPDATE ... RETURNING. A mismatch, or a concurrent update
+     * slipping in before the write, raises {@link OptimisticLockingFailureException}.
+     */
+    @Transactional
+    public Optional<TaskDTO> updateTask(Long id, TaskDTO taskDTO, Long expectedVersion) {
         String username = getCurrentUsername();
         logger.info("Updating task with ID: {} by user: {}", id, username);
         
-        Optional<Task> existingTask = taskRepository.findById(id);
-        if (existingTask.isPresent()) {
-            Task task = existingTask.get();
-            String oldTitle = task.getTitle();
-            TaskStatus oldStatus = task.getStatus();
-            
-            task.setTitle(taskDTO.getTitle());
-            task.setDescription(taskDTO.getDescription());
-            task.setDueDate(taskDTO.getDueDate());
-            if (taskDTO.getStatus() != null) {
-                task.setStatus(taskDTO.getStatus());
-            }
-            task.setLastModifiedBy(username);
-            
-            Task updatedTask = taskRepository.save(task);
+        String status = taskDTO.getStatus() == null ? null : taskDTO.getStatus().name();
+        List<Object[]> updated = taskRepository.updateReturningPrevious(id, taskDTO.getTitle(),
+                taskDTO.getDescription(), taskDTO.getDueDate(), status, username, LocalDateTime.now(), expectedVersion);
+        if (!updated.isEmpty()) {
+            Object[] row = updated.get(0);
+            Task updatedTask = (Task) row[0];
+            taskCacheInvalidator.evictTask(id);
+            taskStatistics.publish(new TaskStatistics.Delta()
+                    .remove(TaskStatus.valueOf((String) row[2]), (LocalDateTime) row[3], updatedTask.getCreatedBy())
+                    .add(updatedTask));
             
             // Log audit trail with details
-            String details = String.format("Updated task from '%s' (status: %s) to '%s' (status: %s)", 
-                                         oldTitle, oldStatus, updatedTask.getTitle(), updatedTask.getStatus());
+            String details = String.format("Updated task from '%s' (status: %s) to '%s' (status: %s)",
+                                           row[1], row[2], updatedTask.getTitle(), updatedTask.getStatus());
             auditService.logAction(username, "UPDATE", "TASK", id, details);
             
             logger.debug("Task updated successfully with ID: {}", id);
             return Optional.of(convertToDTO(updatedTask));
-        } else {
-            logger.warn("Cannot update - Task not found with ID: {}", id);
-            return Optional.empty();
         }
+
+        // Nothing updated: either there is no such task or it is at another version
+        Optional<TaskVersion> current = expectedVersion == null ? Optional.empty() : taskRepository.findVersionById(id);
+        if (current.isPresent()) {
+            throw new OptimisticLockingFailureException("Task " + id + " is at version " + current.get().getVersion()
+                    + ", expected " + expectedVersion);
+        }
+        logger.warn("Cannot update - Task not found with ID: {}", id);
+        return Optional.empty();
     }
 
+    @Transactional
     public TaskDTO markTaskAsCompleted(Long id) {
         String username = getCurrentUsername();
         logger.info("Marking task as completed with ID: {} by user: {}", id, username);
         
-        Optional<Task> taskOptional = taskRepository.findById(id);
-        if (taskOptional.isPresent()) {
-            Task task = taskOptional.get();
-            task.setStatus(TaskStatus.COMPLETED);
-            task.setLastModifiedBy(username);
-            Task updatedTask = taskRepository.save(task);
+        List<Object[]> completed = taskRepository.markCompletedReturningPrevious(id, username, LocalDateTime.now());
+        if (!completed.isEmpty()) {
+            Object[] row = completed.get(0);
+            Task updatedTask = (Task) row[0];
+            taskCacheInvalidator.evictTask(id);
+            taskStatistics.publish(new TaskStatistics.Delta()
+                    .remove(TaskStatus.valueOf((String) row[2]), (LocalDateTime) row[3], updatedTask.getCreatedBy())
+                    .add(updatedTask));
             
             // Log audit trail
             auditService.logAction(username, "COMPLETE", "TASK", id, 
-                                  "Marked task as completed: " + task.getTitle());
+                                  "Marked task as completed: " + updatedTask.getTitle());
             
             logger.debug("Task marked as completed with ID: {}", id);
             return convertToDTO(updatedTask);
@@ -107,19 +203,19 @@ public class TaskService {
         }
     }
 
+    @Transactional
     public boolean deleteTask(Long id) {
         String username = getCurrentUsername();
         logger.info("Deleting task with ID: {} by user: {}", id, username);
         
-        if (taskRepository.existsById(id)) {
-            Optional<Task> task = taskRepository.findById(id);
-            String taskTitle = task.map(Task::getTitle).orElse("Unknown");
-            
-            taskRepository.deleteById(id);
+        Optional<Task> deletedTask = taskRepository.deleteReturning(id);
+        if (deletedTask.isPresent()) {
+            taskCacheInvalidator.evictTask(id);
+            taskStatistics.publish(new TaskStatistics.Delta().remove(deletedTask.get()));
             
             // Log audit trail
             auditService.logAction(username, "DELETE", "TASK", id, 
-                                  "Deleted task: " + taskTitle);
+                                  "Deleted task: " + deletedTask.get().getTitle());
             
             logger.debug("Task deleted successfully with ID: {}", id);
             return true;
@@ -129,23 +225,425 @@ public class TaskService {
         }
     }
 
+    /**
+     * Creates many tasks in one transaction. Inserts go out as JDBC batches and the
+     * persistence context is flushed and cleared after every batch, so memory stays flat.
+     * Invalid items are reported and skipped; the rest are created.
+     */
+    @Transactional
+    public List<BatchItemResult> createTasks(List<TaskDTO> taskDTOs) {
+        checkBatchSize(taskDTOs.size());
+        String username = getCurrentUsername();
+        logger.info("Creating {} tasks in bulk by user: {}", taskDTOs.size(), username);
+
+        List<BatchItemResult> results = new ArrayList<>(taskDTOs.size());
+        TaskStatistics.Delta delta = new TaskStatistics.Delta();
+        int persisted = 0;
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            String violations = validate(taskDTO);
+            if (violations != null) {
+                results.add(BatchItemResult.failure(i, null, BatchItemResult.INVALID, violations));
+                continue;
+            }
+
+            Task task = convertToEntity(taskDTO);
+            task.setCreatedBy(username);
+            task.setLastModifiedBy(username);
+            Task savedTask = taskRepository.save(task);
+            delta.add(savedTask);
+
+            auditService.logAction(username, "CREATE", "TASK", savedTask.getId(),
+                                   "Created task: " + savedTask.getTitle());
+            results.add(BatchItemResult.success(i, BatchItemResult.CREATED, convertToDTO(savedTask)));
+
+            if (++persisted % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        taskCacheInvalidator.evictAll();
+        taskStatistics.publish(delta);
+        logger.debug("Bulk created {} of {} tasks", persisted, taskDTOs.size());
+        return results;
+    }
+
+    /**
+     * Applies many updates in one transaction. Tasks are loaded one JDBC batch at a time
+     * with a single IN query and the resulting UPDATEs are batched.
+     */
+    @Transactional
+    public List<BatchItemResult> updateTasks(List<TaskDTO> taskDTOs) {
+        checkBatchSize(taskDTOs.size());
+        String username = getCurrentUsername();
+        logger.info("Updating {} tasks in bulk by user: {}", taskDTOs.size(), username);
+
+        List<BatchItemResult> results = new ArrayList<>(taskDTOs.size());
+        TaskStatistics.Delta delta = new TaskStatistics.Delta();
+        for (int start = 0; start < taskDTOs.size(); start += jdbcBatchSize) {
+            List<TaskDTO> chunk = taskDTOs.subList(start, Math.min(start + jdbcBatchSize, taskDTOs.size()));
+            Map<Long, Task> tasks = loadTasks(chunk.stream()
+                    .filter(Objects::nonNull).map(TaskDTO::getId).collect(Collectors.toList()));
+            Map<Integer, Task> updated = new LinkedHashMap<>();
+
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = start + i;
+                TaskDTO taskDTO = chunk.get(i);
+                Long id = taskDTO == null ? null : taskDTO.getId();
+                String violations = id == null ? "id: Task ID is required" : validate(taskDTO);
+                if (violations != null) {
+                    results.add(BatchItemResult.failure(index, id, BatchItemResult.INVALID, violations));
+                    continue;
+                }
+                Task task = tasks.get(id);
+                if (task == null) {
+                    results.add(BatchItemResult.failure(index, id, BatchItemResult.NOT_FOUND, "Task not found"));
+                    continue;
+                }
+
+                delta.remove(task);
+                String details = applyUpdate(task, taskDTO, username);
+                delta.add(task);
+                auditService.logAction(username, "UPDATE", "TASK", id, details);
+                updated.put(index, task);
+                results.add(null);
+            }
+
+            // Versions are only incremented on flush, so build the results afterwards
+            entityManager.flush();
+            updated.forEach((index, task) -> results.set(index,
+                    BatchItemResult.success(index, BatchItemResult.UPDATED, convertToDTO(task))));
+            entityManager.clear();
+        }
+        taskCacheInvalidator.evictAll();
+        taskStatistics.publish(delta);
+        return results;
+    }
+
+    /**
+     * Marks many tasks as completed in one transaction, loading and updating them one
+     * JDBC batch at a time.
+     */
+    @Transactional
+    public List<BatchItemResult> markTasksAsCompleted(List<Long> ids) {
+        checkBatchSize(ids.size());
+        String username = getCurrentUsername();
+        logger.info("Marking {} tasks as completed in bulk by user: {}", ids.size(), username);
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        TaskStatistics.Delta delta = new TaskStatistics.Delta();
+        for (int start = 0; start < ids.size(); start += jdbcBatchSize) {
+            List<Long> chunk = ids.subList(start, Math.min(start + jdbcBatchSize, ids.size()));
+            Map<Long, Task> tasks = loadTasks(chunk);
+            Map<Integer, Task> completed = new LinkedHashMap<>();
+
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = start + i;
+                Long id = chunk.get(i);
+                if (id == null) {
+                    results.add(BatchItemResult.failure(index, null, BatchItemResult.INVALID, "Task ID is required"));
+                    continue;
+                }
+                Task task = tasks.get(id);
+                if (task == null) {
+                    results.add(BatchItemResult.failure(index, id, BatchItemResult.NOT_FOUND, "Task not found"));
+                    continue;
+                }
+
+                delta.remove(task);
+                task.setStatus(TaskStatus.COMPLETED);
+                delta.add(task);
+                task.setLastModifiedBy(username);
+                auditService.logAction(username, "COMPLETE", "TASK", id,
+                                      "Marked task as completed: " + task.getTitle());
+                completed.put(index, task);
+                results.add(null);
+            }
+
+            entityManager.flush();
+            completed.forEach((index, task) -> results.set(index,
+                    BatchItemResult.success(index, BatchItemResult.COMPLETED, convertToDTO(task))));
+            entityManager.clear();
+        }
+        taskCacheInvalidator.evictAll();
+        taskStatistics.publish(delta);
+        return results;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + size + " exceeds the maximum of " + maxBatchSize);
+        }
+    }
+
+    private Map<Long, Task> loadTasks(List<Long> ids) {
+        List<Long> existingIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        return taskRepository.findAllById(existingIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
+
+    private String validate(TaskDTO taskDTO) {
+        if (taskDTO == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // Copies the updatable fields onto the entity and returns the audit details
+    private String applyUpdate(Task task, TaskDTO taskDTO, String username) {
+        String oldTitle = task.getTitle();
+        TaskStatus oldStatus = task.getStatus();
+
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setDueDate(taskDTO.getDueDate());
+        if (taskDTO.getStatus() != null) {
+            task.setStatus(taskDTO.getStatus());
+        }
+        task.setLastModifiedBy(username);
+
+        return String.format("Updated task from '%s' (status: %s) to '%s' (status: %s)",
+                             oldTitle, oldStatus, task.getTitle(), task.getStatus());
+    }
+
     // Other methods remain the same...
     public List<TaskDTO> getAllTasks() {
-        logger.info("Fetching all tasks");
+        logger.debug("Fetching all tasks");
         List<Task> tasks = taskRepository.findAll();
         logger.debug("Found {} tasks", tasks.size());
         return tasks.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
-    public List<TaskDTO> getTasksByStatus(TaskStatus status) {
-        logger.info("Fetching tasks with status: {}", status);
+    /**
+     * The tasks with a status and the list version they are as of, read from one snapshot.
+     * Cached per status, and only served while that version is still current, so the body
+     * always matches the ETag made from its version.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public TaskList getTasksByStatus(TaskStatus status) {
+        long version = getTaskListVersion(status);
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_BY_STATUS_CACHE);
+        TaskList cached = cache.get(status, TaskList.class);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        logger.debug("Fetching tasks with status: {}", status);
         List<Task> tasks = taskRepository.findByStatus(status);
         logger.debug("Found {} tasks with status {}", tasks.size(), status);
+        TaskList list = new TaskList(version, tasks.stream().map(this::convertToDTO).collect(Collectors.toList()));
+        cache.put(status, list);
+        return list;
+    }
+
+    /**
+     * Keyset (cursor) pagination. {@code after} is the id of the last task of the previous
+     * page; {@code sort} is either {@code id} or {@code dueDate} (ties broken by id).
+     */
+    public List<TaskDTO> getTasksPage(TaskStatus status, Long after, Integer limit, String sort) {
+        int pageSize = limit == null ? defaultPageLimit : limit;
+        if (pageSize < 1 || pageSize > maxPageLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageLimit);
+        }
+        logger.debug("Fetching tasks page after: {} limit: {} sort: {} status: {}", after, pageSize, sort, status);
+
+        List<Task> tasks;
+        if ("id".equals(sort)) {
+            long cursor = after == null ? 0L : after;
+            tasks = status == null
+                    ? taskRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(pageSize))
+                    : taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, cursor, Limit.of(pageSize));
+        } else if ("dueDate".equals(sort)) {
+            if (after == null) {
+                tasks = status == null
+                        ? taskRepository.findAllByOrderByDueDateAscIdAsc(Limit.of(pageSize))
+                        : taskRepository.findByStatusOrderByDueDateAscIdAsc(status, Limit.of(pageSize));
+            } else {
+                LocalDateTime cursorDueDate = taskRepository.findDueDateById(after)
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown cursor: " + after));
+                tasks = status == null
+                        ? taskRepository.findPageOrderByDueDate(cursorDueDate, after, Limit.of(pageSize))
+                        : taskRepository.findPageByStatusOrderByDueDate(status, cursorDueDate, after, Limit.of(pageSize));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+
+        logger.debug("Found {} tasks in page", tasks.size());
         return tasks.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
+    /**
+     * The task list restricted to some of the {@link TaskSummary#FIELDS}, for list views. Only
+     * those columns are selected and nothing is loaded as a managed entity. Not cached: it is
+     * a fraction of the full list's cost already.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummaries(TaskStatus status, Set<String> fields) {
+        logger.debug("Fetching task summaries with status: {} fields: {}", status, fields);
+        List<TaskSummary> summaries = status == null
+                ? taskRepository.findAllSummaries()
+                : taskRepository.findSummariesByStatus(status);
+        return summaries.stream().map(summary -> summary.only(fields)).collect(Collectors.toList());
+    }
+
+    /** {@link #getTasksPage} restricted to some of the {@link TaskSummary#FIELDS}. */
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummariesPage(TaskStatus status, Long after, Integer limit, String sort,
+                                                  Set<String> fields) {
+        int pageSize = limit == null ? defaultPageLimit : limit;
+        if (pageSize < 1 || pageSize > maxPageLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageLimit);
+        }
+        logger.debug("Fetching task summaries page after: {} limit: {} sort: {} status: {} fields: {}",
+                after, pageSize, sort, status, fields);
+
+        List<TaskSummary> summaries;
+        if ("id".equals(sort)) {
+            long cursor = after == null ? 0L : after;
+            summaries = status == null
+                    ? taskRepository.findSummaryPageOrderById(cursor, Limit.of(pageSize))
+                    : taskRepository.findSummaryPageByStatusOrderById(status, cursor, Limit.of(pageSize));
+        } else if ("dueDate".equals(sort)) {
+            if (after == null) {
+                summaries = status == null
+                        ? taskRepository.findFirstSummaryPageOrderByDueDate(Limit.of(pageSize))
+                        : taskRepository.findFirstSummaryPageByStatusOrderByDueDate(status, Limit.of(pageSize));
+            } else {
+                LocalDateTime cursorDueDate = taskRepository.findDueDateById(after)
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown cursor: " + after));
+                summaries = status == null
+                        ? taskRepository.findSummaryPageOrderByDueDate(cursorDueDate, after, Limit.of(pageSize))
+                        : taskRepository.findSummaryPageByStatusOrderByDueDate(status, cursorDueDate, after,
+                                Limit.of(pageSize));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        return summaries.stream().map(summary -> summary.only(fields)).collect(Collectors.toList());
+    }
+
+    /**
+     * Full-text search over title and description, best match first. Every word of {@code q}
+     * matches as a prefix ("deploy rel" finds "Deploy release 2.0"). Paging is bounded by
+     * {@code tasklist.search.max-results}: {@code offset + limit} may not go past it, since every
+     * page keeps that many ranked matches while sorting.
+     */
+    public List<TaskDTO> searchTasks(String q, Integer limit, Integer offset) {
+        int pageSize = limit == null ? defaultPageLimit : limit;
+        int skip = offset == null ? 0 : offset;
+        if (pageSize < 1 || pageSize > maxPageLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageLimit);
+        }
+        if (skip < 0 || skip + pageSize > searchMaxResults) {
+            throw new IllegalArgumentException("offset + limit must be between 0 and " + searchMaxResults);
+        }
+        String query = toPrefixQuery(q);
+        logger.debug("Searching tasks for: {} limit: {} offset: {}", query, pageSize, skip);
+
+        List<Task> tasks = taskRepository.search(query, pageSize, skip);
+        logger.debug("Found {} matching tasks", tasks.size());
+        return tasks.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    // "Fix login" -> "fix:* & login:*". Anything but letters and digits is dropped, so user
+    // input never reaches to_tsquery as operators
+    private static String toPrefixQuery(String q) {
+        List<String> terms = q == null ? List.of() : Stream.of(q.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("q must contain at least one letter or digit");
+        }
+        return String.join(" & ", terms);
+    }
+
+    /**
+     * Streams every task (optionally filtered by status) to the consumer in id order, one row
+     * at a time as the JDBC cursor returns it. Each entity is detached once converted so the
+     * persistence context never grows with the table.
+     */
+    @Transactional(readOnly = true)
+    public void streamTasks(TaskStatus status, Consumer<TaskDTO> consumer) {
+        logger.debug("Streaming tasks with status: {}", status);
+        try (Stream<Task> tasks = status == null
+                ? taskRepository.streamAllByOrderByIdAsc()
+                : taskRepository.streamByStatusOrderByIdAsc(status)) {
+            tasks.forEach(task -> {
+                consumer.accept(convertToDTO(task));
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    /**
+     * Delta sync: tasks created or modified after the watermark in {@code since}, plus the ids
+     * of tasks deleted since then (from the DELETE audit entries). Without a token every task
+     * is returned. Changes younger than the safety lag are held back until the next sync, so
+     * a write that commits late, or on a replica whose clock is slightly behind, is not
+     * skipped by a watermark that has already moved past it.
+     */
+    public TaskSyncResponse syncTasks(String since, Integer limit) {
+        int pageSize = limit == null ? defaultPageLimit : limit;
+        if (pageSize < 1 || pageSize > maxPageLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageLimit);
+        }
+        LocalDateTime fromUpdatedAt = EPOCH;
+        long fromId = 0;
+        if (since != null) {
+            long[] watermark = decodeSyncToken(since);
+            fromUpdatedAt = EPOCH.plus(watermark[0], ChronoUnit.MICROS);
+            fromId = watermark[1];
+        }
+        LocalDateTime until = LocalDateTime.now().minus(syncSafetyLagMs, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.MICROS);
+        logger.debug("Syncing tasks changed since: {} until: {}", fromUpdatedAt, until);
+        if (!until.isAfter(fromUpdatedAt)) {
+            return new TaskSyncResponse(List.of(), List.of(), since, false);
+        }
+
+        List<Task> changed = taskRepository.findChangedSince(fromUpdatedAt, fromId, until, Limit.of(pageSize + 1));
+        boolean hasMore = changed.size() > pageSize;
+        if (hasMore) {
+            changed = changed.subList(0, pageSize);
+        }
+        // A full page moves the watermark to its last task, otherwise all the way to the upper bound
+        Task last = hasMore ? changed.get(changed.size() - 1) : null;
+        LocalDateTime nextUpdatedAt = last != null ? last.getUpdatedAt() : until;
+        long nextId = last != null ? last.getId() : Long.MAX_VALUE;
+
+        List<Long> deleted = since == null ? List.of() : auditService.getDeletedTaskIds(fromUpdatedAt, nextUpdatedAt);
+        logger.debug("Sync found {} changed and {} deleted tasks", changed.size(), deleted.size());
+        return new TaskSyncResponse(changed.stream().map(this::convertToDTO).collect(Collectors.toList()),
+                deleted, encodeSyncToken(nextUpdatedAt, nextId), hasMore);
+    }
+
+    // Opaque to clients: base64url of "<updatedAt as epoch microseconds>:<id>"
+    private static String encodeSyncToken(LocalDateTime updatedAt, long id) {
+        String watermark = ChronoUnit.MICROS.between(EPOCH, updatedAt) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(watermark.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Returns {epoch microseconds, id}
+    private static long[] decodeSyncToken(String token) {
+        try {
+            String[] watermark = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":");
+            return new long[]{Long.parseLong(watermark[0]), Long.parseLong(watermark[1])};
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + token, e);
+        }
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TASK_CACHE, key = "#id", unless = "#result == null")
     public Optional<TaskDTO> getTaskById(Long id) {
-        logger.info("Fetching task with ID: {}", id);
+        logger.debug("Fetching task with ID: {}", id);
         Optional<Task> task = taskRepository.findById(id);
         if (task.isPresent()) {
             logger.debug("Task found with ID: {}", id);
@@ -156,7 +654,29 @@ public class TaskService {
         }
     }
 
-    private Task convertToEntity(TaskDTO taskDTO) {
+    /**
+     * Version and last-modified time of a task for conditional requests, answered from the
+     * task cache when possible and otherwise with a single-row, three-column lookup.
+     */
+    public Optional<TaskVersion> getTaskVersion(Long id) {
+        TaskDTO cached = cacheManager.getCache(CacheConfig.TASK_CACHE).get(id, TaskDTO.class);
+        if (cached != null) {
+            return Optional.of(new TaskVersion(cached.getId(), cached.getVersion(), cached.getUpdatedAt()));
+        }
+        return taskRepository.findVersionById(id);
+    }
+
+    /**
+     * Version of the (optionally status-filtered) task list, bumped by the database in the
+     * same commit as any change to a task in it, and never repeated. Used as a weak ETag, it
+     * saves serializing the list when nothing has changed; a single-row lookup.
+     */
+    public long getTaskListVersion(TaskStatus status) {
+        return taskRepository.findListVersion(status == null ? ALL_TASKS : status.name()).orElse(0L);
+    }
+
+    // Package-private so the mapping can be benchmarked on its own (see benchmarks/)
+    Task convertToEntity(TaskDTO taskDTO) {
         Task task = new Task();
         task.setTitle(taskDTO.getTitle());
         task.setDescription(taskDTO.getDescription());
@@ -167,7 +687,7 @@ public class TaskService {
         return task;
     }
 
-    private TaskDTO convertToDTO(Task task) {
+    TaskDTO convertToDTO(Task task) {
         TaskDTO taskDTO = new TaskDTO();
         taskDTO.setId(task.getId());
         taskDTO.setTitle(task.getTitle());
@@ -176,6 +696,7 @@ public class TaskService {
         taskDTO.setStatus(task.getStatus());
         taskDTO.setCreatedAt(task.getCreatedAt());
         taskDTO.setUpdatedAt(task.getUpdatedAt());
+        taskDTO.setVersion(task.getVersion());
         return taskDTO;
     }
 }
\ No newline at end of file
@@ -0,0 +1,307 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.dto.TaskStats;
+import com.example.TasklistApi.model.Task;
+import com.example.TasklistApi.model.TaskStatus;
+import com.example.TasklistApi.repository.TaskRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory task counts behind GET /api/tasks/stats: per status, per creator, overdue and due
+ * later today. Reading them sums a few LongAdders instead of scanning the table.
+ *
+ * TaskService describes each write as a {@link Delta} (what the task counted as before and
+ * after) and publishes it as a NOTIFY on {@value #CHANNEL}, so it is applied once the write
+ * commits, on every replica alike. Open tasks due later today are counted per minute and roll
+ * into the overdue count as their minute passes; tasks due on a later day are picked up by
+ * the reconciliation at midnight.
+ *
+ * A delta racing a reconciliation, or lost while the notification connection was down, can
+ * leave the counts slightly off until the next periodic GROUP BY reconciliation (one also
+ * runs after every reconnect). The size of each correction is recorded as
+ * {@code tasklist.stats.drift}.
+ *
+ * Payload format: comma-separated {@code <key>=<change>} entries, the key being
+ * {@code s:<status>}, {@code c:<url-encoded creator>} or {@code d:<epoch minute due>}.
+ */
+@Component
+public class TaskStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatistics.class);
+
+    static final String CHANNEL = "task_stats";
+    // NOTIFY payloads must stay below 8000 bytes
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+    private static final Set<TaskStatus> OPEN = EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+    private static final String STATUS = "s:";
+    private static final String CREATOR = "c:";
+    private static final String DUE = "d:";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostgresNotificationListener notificationListener;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Counts counts = new Counts(LocalDateTime.now());
+    private Timer reconcileTimer;
+    private DistributionSummary drift;
+
+    @PostConstruct
+    void init() {
+        for (TaskStatus status : TaskStatus.values()) {
+            Gauge.builder("tasklist.tasks", () -> counts.byStatus.get(status).sum())
+                    .description("Tasks per status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("tasklist.tasks.overdue", () -> {
+                    Counts current = counts;
+                    current.roll();
+                    return current.overdue.sum();
+                })
+                .description("Open tasks past their due date")
+                .register(meterRegistry);
+        reconcileTimer = meterRegistry.timer("tasklist.stats.reconcile");
+        drift = DistributionSummary.builder("tasklist.stats.drift")
+                .description("Tasks miscounted by the incremental statistics, as found by each reconciliation")
+                .register(meterRegistry);
+
+        notificationListener.subscribe(CHANNEL, this::onNotification);
+        notificationListener.onReconnect(this::reconcile);
+    }
+
+    /** The current counts; O(statuses + creators + minutes left today), never touches the database. */
+    public TaskStats getStats() {
+        Counts current = counts;
+        current.roll();
+        Map<TaskStatus, Long> byStatus = new LinkedHashMap<>();
+        current.byStatus.forEach((status, count) -> byStatus.put(status, count.sum()));
+        Map<String, Long> byCreator = new TreeMap<>();
+        current.byCreator.forEach((creator, count) -> {
+            long sum = count.sum();
+            if (sum != 0) {
+                byCreator.put(creator, sum);
+            }
+        });
+        long dueToday = current.dueToday.values().stream().mapToLong(LongAdder::sum).sum();
+        return new TaskStats(byStatus.values().stream().mapToLong(Long::longValue).sum(), byStatus,
+                current.overdue.sum(), dueToday, byCreator, current.reconciledAt);
+    }
+
+    /** Publishes a write's effect on the counts; applied on commit when inside a transaction. */
+    public void publish(Delta delta) {
+        StringBuilder payload = new StringBuilder();
+        for (String entry : delta.entries()) {
+            if (payload.length() + entry.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                notify(payload.toString());
+                payload.setLength(0);
+            }
+            if (payload.length() > 0) {
+                payload.append(',');
+            }
+            payload.append(entry);
+        }
+        if (payload.length() > 0) {
+            notify(payload.toString());
+        }
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+    }
+
+    // The payload of a single-task delta, which always fits; used by the reactive stack, which publishes over R2DBC
+    static String payload(Delta delta) {
+        return String.join(",", delta.entries());
+    }
+
+    private void onNotification(String payload) {
+        Counts current = counts;
+        for (String entry : payload.split(",")) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                logger.warn("Ignoring malformed statistics entry: {}", entry);
+                continue;
+            }
+            String key = entry.substring(0, separator);
+            long change = Long.parseLong(entry.substring(separator + 1));
+            if (key.startsWith(STATUS)) {
+                current.byStatus.get(TaskStatus.valueOf(key.substring(STATUS.length()))).add(change);
+            } else if (key.startsWith(CREATOR)) {
+                String creator = URLDecoder.decode(key.substring(CREATOR.length()), StandardCharsets.UTF_8);
+                current.byCreator.computeIfAbsent(creator, k -> new LongAdder()).add(change);
+            } else if (key.startsWith(DUE)) {
+                current.addDue(Long.parseLong(key.substring(DUE.length())), change);
+            }
+        }
+    }
+
+    /**
+     * Recomputes every count from the database and swaps them in. Runs periodically, right
+     * after midnight (when tomorrow's due tasks become today's) and after a reconnect.
+     */
+    @Scheduled(fixedDelayString = "${tasklist.stats.reconcile-interval-ms:300000}")
+    @Scheduled(cron = "0 0 0 * * *")
+    public void reconcile() {
+        try {
+            reconcileTimer.record(() -> {
+                Counts fresh = new Counts(LocalDateTime.now());
+                for (Object[] row : taskRepository.countByStatus()) {
+                    fresh.byStatus.get((TaskStatus) row[0]).add((Long) row[1]);
+                }
+                for (Object[] row : taskRepository.countByCreatedBy()) {
+                    fresh.byCreator.computeIfAbsent((String) row[0], k -> new LongAdder()).add((Long) row[1]);
+                }
+                fresh.overdue.add(taskRepository.countOpenDueBefore(fromEpochMinute(fresh.startMinute)));
+                for (Object[] row : taskRepository.countOpenDueByMinute(fromEpochMinute(fresh.startMinute),
+                        fromEpochMinute(fresh.endOfDay))) {
+                    fresh.dueToday.computeIfAbsent(((Number) row[0]).longValue(), k -> new LongAdder())
+                            .add(((Number) row[1]).longValue());
+                }
+
+                Counts previous = counts;
+                counts = fresh;
+                long miscounted = previous.byStatus.entrySet().stream()
+                        .mapToLong(entry -> Math.abs(entry.getValue().sum() - fresh.byStatus.get(entry.getKey()).sum()))
+                        .sum();
+                drift.record(miscounted);
+                logger.debug("Reconciled task statistics, {} tasks were miscounted", miscounted);
+            });
+        } catch (Exception e) {
+            logger.error("Error reconciling task statistics", e);
+        }
+    }
+
+    static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime fromEpochMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * A write's effect on the counts: {@link #remove} what the task counted as before and
+     * {@link #add} what it counts as after. Changes that cancel out are not published.
+     */
+    public static final class Delta {
+
+        private final Map<String, Long> changes = new HashMap<>();
+
+        public Delta add(Task task) {
+            return add(task.getStatus(), task.getDueDate(), task.getCreatedBy());
+        }
+
+        public Delta add(TaskStatus status, LocalDateTime dueDate, String createdBy) {
+            return change(status, dueDate, createdBy, 1);
+        }
+
+        public Delta remove(Task task) {
+            return remove(task.getStatus(), task.getDueDate(), task.getCreatedBy());
+        }
+
+        public Delta remove(TaskStatus status, LocalDateTime dueDate, String createdBy) {
+            return change(status, dueDate, createdBy, -1);
+        }
+
+        private Delta change(TaskStatus status, LocalDateTime dueDate, String createdBy, long change) {
+            merge(STATUS + status.name(), change);
+            merge(CREATOR + URLEncoder.encode(createdBy, StandardCharsets.UTF_8), change);
+            if (OPEN.contains(status)) {
+                merge(DUE + toEpochMinute(dueDate), change);
+            }
+            return this;
+        }
+
+        private void merge(String key, long change) {
+            changes.merge(key, change, (current, added) -> current + added == 0 ? null : current + added);
+        }
+
+        private List<String> entries() {
+            return changes.entrySet().stream()
+                    .map(change -> change.getKey() + "=" + change.getValue())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // One generation of counts; a reconciliation replaces the whole object
+    private static final class Counts {
+
+        final Map<TaskStatus, LongAdder> byStatus = new EnumMap<>(TaskStatus.class);
+        final Map<String, LongAdder> byCreator = new ConcurrentHashMap<>();
+        final LongAdder overdue = new LongAdder();
+        // Open tasks due later today, per epoch minute
+        final ConcurrentSkipListMap<Long, LongAdder> dueToday = new ConcurrentSkipListMap<>();
+        final long startMinute;
+        final long endOfDay;
+        final LocalDateTime reconciledAt;
+
+        Counts(LocalDateTime now) {
+            // Only read after this, so the EnumMap needs no synchronization
+            for (TaskStatus status : TaskStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+            startMinute = toEpochMinute(now);
+            endOfDay = toEpochMinute(now.toLocalDate().plusDays(1).atStartOfDay());
+            reconciledAt = now.truncatedTo(ChronoUnit.SECONDS);
+        }
+
+        void addDue(long minute, long change) {
+            if (minute < toEpochMinute(LocalDateTime.now())) {
+                overdue.add(change);
+            } else if (minute < endOfDay) {
+                dueToday.computeIfAbsent(minute, k -> new LongAdder()).add(change);
+            }
+        }
+
+        // Moves the minutes that have passed into the overdue count
+        void roll() {
+            long now = toEpochMinute(LocalDateTime.now());
+            Map.Entry<Long, LongAdder> first;
+            while ((first = dueToday.firstEntry()) != null && first.getKey() < now) {
+                if (dueToday.remove(first.getKey(), first.getValue())) {
+                    overdue.add(first.getValue().sum());
+                }
+            }
+        }
+    }
+}
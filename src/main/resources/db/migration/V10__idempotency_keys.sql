@@ -0,0 +1,18 @@
+-- Responses to task mutations sent with an Idempotency-Key header, so that a retried request is
+-- answered with the stored response instead of being applied again (IdempotencyStore). A row
+-- without completed_at is a request still in progress. Rows are deleted once they expire.
+
+CREATE TABLE idempotency_keys (
+    username        VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    VARCHAR(64) NOT NULL,
+    status          INTEGER,
+    content_type    VARCHAR(255),
+    etag            VARCHAR(255),
+    body            BYTEA,
+    created_at      TIMESTAMP NOT NULL,
+    completed_at    TIMESTAMP,
+    PRIMARY KEY (username, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
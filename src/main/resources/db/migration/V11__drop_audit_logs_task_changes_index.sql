@@ -0,0 +1,2 @@
+-- The change feed now resumes by audit entry id, which the primary key already indexes.
+DROP INDEX IF EXISTS idx_audit_logs_task_changes;
@@ -0,0 +1,43 @@
+-- Versions of the task list as a whole ('ALL') and of each status, the source of the list
+-- ETags: a single-row lookup instead of an aggregate over tasks on every poll. A deferred
+-- trigger bumps them when a writing transaction commits, once per list per transaction, so
+-- a version never changes without the list changing in the same commit and never repeats.
+-- 'ALL' is always bumped first, which also orders the row locks and rules out deadlocks.
+
+CREATE TABLE task_list_versions (
+    status  VARCHAR(255) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO task_list_versions (status, version)
+VALUES ('ALL', 1), ('PENDING', 1), ('IN_PROGRESS', 1), ('COMPLETED', 1), ('CANCELLED', 1);
+
+CREATE FUNCTION bump_task_list_version(list VARCHAR) RETURNS VOID AS $$
+DECLARE
+    bumped TEXT := COALESCE(current_setting('tasklist.bumped_task_lists', true), '');
+BEGIN
+    IF position(',' || list || ',' IN bumped) = 0 THEN
+        INSERT INTO task_list_versions (status, version) VALUES (list, 1)
+        ON CONFLICT (status) DO UPDATE SET version = task_list_versions.version + 1;
+        PERFORM set_config('tasklist.bumped_task_lists', bumped || ',' || list || ',', true);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION bump_task_list_versions() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM bump_task_list_version('ALL');
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM bump_task_list_version(OLD.status);
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        PERFORM bump_task_list_version(NEW.status);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE CONSTRAINT TRIGGER tasks_list_versions
+    AFTER INSERT OR UPDATE OR DELETE ON tasks
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION bump_task_list_versions();
@@ -0,0 +1,33 @@
+-- Schema as previously created by hibernate.ddl-auto=update. Existing databases already
+-- have these tables (Flyway baselines them at version 0), so every statement is idempotent.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title            VARCHAR(255) NOT NULL,
+    description      TEXT,
+    due_date         TIMESTAMP(6) NOT NULL,
+    status           VARCHAR(255) NOT NULL
+                     CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    created_by       VARCHAR(255) NOT NULL,
+    last_modified_by VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(255) NOT NULL,
+    action      VARCHAR(255) NOT NULL,
+    entity_type VARCHAR(255) NOT NULL,
+    entity_id   BIGINT NOT NULL,
+    details     TEXT,
+    timestamp   TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Task ids are now allocated by Hibernate's pooled optimizer (allocationSize = 50), so one
+-- nextval() covers 50 inserts and inserts can be JDBC-batched. The identity column becomes
+-- a plain sequence default (Hibernate cannot use identity sequences for this).
+--
+-- The pooled optimizer treats the value returned by nextval() as the top of a block of 50,
+-- so the sequence must start 50 above the current maximum id.
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS tasks_id_seq INCREMENT BY 50 OWNED BY tasks.id;
+SELECT setval('tasks_id_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 50, false);
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_id_seq');
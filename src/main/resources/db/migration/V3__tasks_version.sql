@@ -0,0 +1,2 @@
+-- Optimistic-lock version for tasks; also the source of the task ETags
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,27 @@
+-- Indexes backing the TaskRepository and AuditLogRepository queries. The query plans are
+-- checked by QueryPlanRegressionTests.
+--
+-- Built CONCURRENTLY, so writes carry on while they are built; that cannot run inside a
+-- transaction (see V4__query_indexes.sql.conf). A build that fails leaves an INVALID index
+-- behind, which IF NOT EXISTS would keep: drop it before repairing and re-running.
+
+-- findByStatus, findByStatusIn, keyset pages by id within a status
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_status_id ON tasks (status, id);
+-- findByStatusOrderByDueDateAsc, keyset pages by due date within a status
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_status_due_date ON tasks (status, due_date, id);
+-- findTasksByDateRange, keyset pages by due date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_due_date ON tasks (due_date, id);
+-- Open tasks by due date (overdue / due-soon lookups); finished tasks are the bulk of the
+-- table and never needed here
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_open_due_date ON tasks (due_date)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
+
+-- findByEntityTypeAndEntityId (audit history of a task, in time order)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_logs_entity ON audit_logs (entity_type, entity_id, timestamp);
+-- findByUsername
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_logs_username ON audit_logs (username, timestamp);
+-- findByAction
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_logs_action ON audit_logs (action, timestamp);
+-- findByTimestampBetween: rows are appended in time order, so a BRIN index is a tiny
+-- fraction of the size of a B-tree and just as selective
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_logs_timestamp_brin ON audit_logs USING BRIN (timestamp);
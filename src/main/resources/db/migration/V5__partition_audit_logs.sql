@@ -0,0 +1,93 @@
+-- Moves audit_logs to native monthly range partitions on timestamp, so date range queries
+-- only touch the months they cover and old months can be detached and archived instead of
+-- deleted row by row. Partitions are named audit_logs_yYYYYmMM; AuditPartitionMaintenance
+-- creates future ones and applies the retention policy.
+--
+-- The primary key has to include the partition key. Identity columns are not supported on
+-- partitioned tables, so ids come from a plain sequence continuing where the old one ended.
+--
+-- There is no default partition: it would make every partition created later scan it, and
+-- DETACH PARTITION ... CONCURRENTLY is not possible while one exists. Partitions therefore
+-- cover every existing entry and three months ahead, and are kept ahead of time after that.
+--
+-- Runs outside a transaction (V5__partition_audit_logs.sql.conf): the new table replaces the
+-- old one in a single short transaction, and the existing entries are then copied over in
+-- batches of their own, so neither table is locked for the whole copy and new entries are
+-- written to the new table meanwhile. An interrupted run can be repaired and re-run; it
+-- carries on with the copy.
+
+DO $$
+DECLARE
+    partition_start DATE;
+    partition_end DATE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'audit_logs'::regclass) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+    ALTER TABLE audit_logs_legacy RENAME CONSTRAINT audit_logs_pkey TO audit_logs_legacy_pkey;
+    ALTER TABLE audit_logs_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    DROP INDEX IF EXISTS idx_audit_logs_entity, idx_audit_logs_username, idx_audit_logs_action,
+        idx_audit_logs_timestamp_brin;
+
+    CREATE TABLE audit_logs (
+        id          BIGINT NOT NULL,
+        username    VARCHAR(255) NOT NULL,
+        action      VARCHAR(255) NOT NULL,
+        entity_type VARCHAR(255) NOT NULL,
+        entity_id   BIGINT NOT NULL,
+        details     TEXT,
+        timestamp   TIMESTAMP(6) NOT NULL,
+        PRIMARY KEY (id, timestamp)
+    ) PARTITION BY RANGE (timestamp);
+
+    CREATE SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+    ALTER TABLE audit_logs ALTER COLUMN id SET DEFAULT nextval('audit_logs_id_seq');
+    PERFORM setval('audit_logs_id_seq', COALESCE((SELECT MAX(id) FROM audit_logs_legacy), 0) + 1, false);
+
+    -- One partition per month from the oldest existing entry up to three months ahead, or to
+    -- the newest entry if that is later
+    partition_start := date_trunc('month', COALESCE((SELECT MIN(timestamp) FROM audit_logs_legacy), now()));
+    partition_end := GREATEST(date_trunc('month', now()) + INTERVAL '3 months',
+                              date_trunc('month', COALESCE((SELECT MAX(timestamp) FROM audit_logs_legacy), now())));
+    WHILE partition_start <= partition_end LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                'audit_logs_' || to_char(partition_start, '"y"YYYY"m"MM'),
+                partition_start, partition_start + INTERVAL '1 month');
+        partition_start := partition_start + INTERVAL '1 month';
+    END LOOP;
+
+    -- Indexes from V4, now defined on the parent and created on every partition. Built while
+    -- the partitions are empty and maintained by the copy, rather than built over them later.
+    CREATE INDEX idx_audit_logs_entity ON audit_logs (entity_type, entity_id, timestamp);
+    CREATE INDEX idx_audit_logs_username ON audit_logs (username, timestamp);
+    CREATE INDEX idx_audit_logs_action ON audit_logs (action, timestamp);
+    CREATE INDEX idx_audit_logs_timestamp_brin ON audit_logs USING BRIN (timestamp);
+END $$;
+
+-- The existing entries, by id range in transactions of up to 50,000, resuming after the last
+-- one copied. Entries written since have ids above the old maximum and are left alone.
+DO $$
+DECLARE
+    batch_size CONSTANT BIGINT := 50000;
+    max_id BIGINT;
+    last_id BIGINT;
+BEGIN
+    IF to_regclass('audit_logs_legacy') IS NULL THEN
+        RETURN;
+    END IF;
+    max_id := (SELECT MAX(id) FROM audit_logs_legacy);
+    last_id := COALESCE((SELECT MAX(id) FROM audit_logs WHERE id <= max_id),
+                        (SELECT MIN(id) - 1 FROM audit_logs_legacy));
+    WHILE last_id < max_id LOOP
+        INSERT INTO audit_logs (id, username, action, entity_type, entity_id, details, timestamp)
+        SELECT id, username, action, entity_type, entity_id, details, timestamp
+        FROM audit_logs_legacy
+        WHERE id > last_id AND id <= last_id + batch_size;
+        last_id := last_id + batch_size;
+        COMMIT;
+    END LOOP;
+END $$;
+
+DROP TABLE IF EXISTS audit_logs_legacy;
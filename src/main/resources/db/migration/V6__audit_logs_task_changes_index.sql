@@ -0,0 +1,4 @@
+-- Change feed resumption (AuditLogRepository.findTaskChangesAfter) reads task entries in
+-- (timestamp, entity_id) order from a client's last event onwards. Partial, so the other
+-- entity types do not pay for it.
+CREATE INDEX idx_audit_logs_task_changes ON audit_logs (timestamp, entity_id) WHERE entity_type = 'TASK';
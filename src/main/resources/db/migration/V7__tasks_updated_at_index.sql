@@ -0,0 +1,5 @@
+-- Delta sync (TaskRepository.findChangedSince) pages through tasks in (updated_at, id) order
+-- from a client's watermark, so its cost follows the number of changes, not the table size.
+-- Built CONCURRENTLY, outside a transaction (V7__tasks_updated_at_index.sql.conf), so writes to
+-- tasks carry on meanwhile.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_updated_at ON tasks (updated_at, id);
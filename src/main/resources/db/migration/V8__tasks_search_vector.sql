@@ -0,0 +1,43 @@
+-- Full-text search over tasks (TaskRepository.search). Title matches rank above description
+-- matches. The document is a plain column kept up to date by a trigger, so no write path has
+-- to maintain it; a generated column would rewrite the whole table under an exclusive lock.
+--
+-- Runs outside a transaction (V8__tasks_search_vector.sql.conf): existing tasks are filled in
+-- by id range, in transactions of up to 10,000, and the index is built CONCURRENTLY, so writes
+-- to tasks carry on meanwhile. An interrupted run can be repaired and re-run; it carries on
+-- where it stopped.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION task_search_vector(title VARCHAR, description TEXT) RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+           setweight(to_tsvector('english', coalesce(description, '')), 'B');
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION update_task_search_vector() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector := task_search_vector(NEW.title, NEW.description);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER tasks_search_vector
+    BEFORE INSERT OR UPDATE OF title, description ON tasks
+    FOR EACH ROW EXECUTE FUNCTION update_task_search_vector();
+
+-- Tasks written before the trigger existed
+DO $$
+DECLARE
+    batch_size CONSTANT BIGINT := 10000;
+    last_id BIGINT := (SELECT MIN(id) - 1 FROM tasks WHERE search_vector IS NULL);
+    max_id BIGINT := (SELECT MAX(id) FROM tasks WHERE search_vector IS NULL);
+BEGIN
+    WHILE last_id < max_id LOOP
+        UPDATE tasks SET search_vector = task_search_vector(title, description)
+        WHERE id > last_id AND id <= last_id + batch_size AND search_vector IS NULL;
+        last_id := last_id + batch_size;
+        COMMIT;
+    END LOOP;
+END $$;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
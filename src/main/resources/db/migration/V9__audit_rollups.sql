@@ -0,0 +1,30 @@
+-- Audit entries counted per hour and per day, user and action, behind GET /api/audit/stats.
+-- The audit writer adds every batch it inserts in the same transaction (AuditRollups), so a
+-- chart over a year reads pre-counted rows rather than audit_logs. The rollups are kept when
+-- old audit partitions are archived and dropped.
+
+CREATE TABLE audit_rollup_hourly (
+    bucket   TIMESTAMP NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    action   VARCHAR(255) NOT NULL,
+    count    BIGINT NOT NULL,
+    PRIMARY KEY (bucket, username, action)
+);
+
+CREATE TABLE audit_rollup_daily (
+    bucket   TIMESTAMP NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    action   VARCHAR(255) NOT NULL,
+    count    BIGINT NOT NULL,
+    PRIMARY KEY (bucket, username, action)
+);
+
+INSERT INTO audit_rollup_hourly (bucket, username, action, count)
+SELECT date_trunc('hour', timestamp), username, action, COUNT(*)
+FROM audit_logs
+GROUP BY 1, 2, 3;
+
+INSERT INTO audit_rollup_daily (bucket, username, action, count)
+SELECT date_trunc('day', bucket), username, action, SUM(count)
+FROM audit_rollup_hourly
+GROUP BY 1, 2, 3;
@@ -0,0 +1,167 @@
+package com.example.TasklistApi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The AIMD limit, driven by the meters it reads, and the admission of requests against it,
+ * including async (streamed) responses, which only keep an expensive slot until they complete.
+ */
+class LoadSheddingFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new LoadSheddingFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "minLimit", 10);
+        ReflectionTestUtils.setField(filter, "maxLimit", 100);
+        ReflectionTestUtils.setField(filter, "backoff", 0.5);
+        ReflectionTestUtils.setField(filter, "connectionWaitThresholdMs", 50.0);
+        ReflectionTestUtils.setField(filter, "p99ThresholdMs", 1000.0);
+        ReflectionTestUtils.setField(filter, "adjustIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(filter, "expensiveMaxConcurrent", 1);
+        ReflectionTestUtils.setField(filter, "expensivePaths", Set.of("/api/audit"));
+        filter.init();
+    }
+
+    @Test
+    void backsOffMultiplicativelyWhileConnectionsAreSlowToGet() {
+        Timer acquire = meterRegistry.timer("hikaricp.connections.acquire");
+        acquire.record(Duration.ofMillis(200));
+        filter.adjust();
+        assertEquals(50, limit());
+
+        acquire.record(Duration.ofMillis(200));
+        filter.adjust();
+        assertEquals(25, limit());
+
+        acquire.record(Duration.ofMillis(200));
+        filter.adjust();
+        acquire.record(Duration.ofMillis(200));
+        filter.adjust();
+        assertEquals(10, limit(), "never below min-limit");
+    }
+
+    @Test
+    void backsOffWhenThreadsWaitAndNoConnectionIsHandedOut() {
+        meterRegistry.gauge("hikaricp.connections.pending", 3);
+        filter.adjust();
+        assertEquals(50, limit());
+    }
+
+    @Test
+    void backsOffOnHighLatency() throws Exception {
+        ReflectionTestUtils.setField(filter, "p99ThresholdMs", 100.0);
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), (request, response) -> sleep(300));
+        filter.adjust();
+        assertEquals(50, limit());
+    }
+
+    @Test
+    void growsAdditivelyOnlyWhenTheLimitWasReached() throws Exception {
+        ReflectionTestUtils.setField(filter, "limit", 1);
+        filter.adjust();
+        assertEquals(1, limit(), "limit not reached");
+
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), (request, response) -> { });
+        filter.adjust();
+        assertEquals(2, limit());
+
+        meterRegistry.timer("hikaricp.connections.acquire").record(Duration.ofMillis(1));
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), (request, response) -> { });
+        filter.adjust();
+        assertEquals(2, limit(), "fast connections, but only one request at a time");
+    }
+
+    @Test
+    void shedsBeyondTheLimit() throws Exception {
+        ReflectionTestUtils.setField(filter, "limit", 1);
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(apiRequest(), shed, (r, s) -> { }));
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void admitsRequestsWhileALongLivedStreamIsOpen() throws Exception {
+        ReflectionTestUtils.setField(filter, "limit", 1);
+        ReflectionTestUtils.setField(filter, "p99ThresholdMs", 100.0);
+        MockHttpServletRequest changes = apiRequest();
+        changes.setRequestURI("/api/tasks/changes");
+        changes.setAsyncSupported(true);
+        filter.doFilter(changes, new MockHttpServletResponse(), (request, response) -> {
+            response.setContentType("text/event-stream");
+            request.startAsync();
+        });
+        assertEquals(0, inFlight());
+
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), admitted, (request, response) -> { });
+        assertEquals(200, admitted.getStatus());
+
+        sleep(300);
+        changes.getAsyncContext().complete();
+        filter.adjust();
+        assertEquals(2, limit(), "grows as the limit was reached; the stream's lifetime is not request latency");
+    }
+
+    @Test
+    void holdsTheExpensiveSlotOfAnAsyncRequestUntilItCompletes() throws Exception {
+        MockHttpServletRequest streaming = apiRequest();
+        streaming.setRequestURI("/api/audit");
+        streaming.setAsyncSupported(true);
+        FilterChain startAsync = (request, response) -> request.startAsync();
+        filter.doFilter(streaming, new MockHttpServletResponse(), startAsync);
+        assertEquals(0, inFlight());
+
+        MockHttpServletRequest second = apiRequest();
+        second.setRequestURI("/api/audit");
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(second, shed, (request, response) -> { });
+        assertEquals(503, shed.getStatus(), "the expensive slot is still taken");
+
+        streaming.getAsyncContext().complete();
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(second, admitted, (request, response) -> { });
+        assertEquals(200, admitted.getStatus());
+    }
+
+    private int limit() {
+        return (int) ReflectionTestUtils.getField(filter, "limit");
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("tasklist.load.in.flight").gauge().value();
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/tasks");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.TasklistApi.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The token bucket on a synthetic clock: bursts, refill at the configured rate, the wait
+ * reported when it is empty, and no credit for idle time beyond a full bucket.
+ */
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsABurstThenReportsTheWaitForTheNextToken() {
+        long now = 1_000 * SECOND;
+        RateLimitFilter.TokenBucket bucket = new RateLimitFilter.TokenBucket(10, 5, now);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.take(now), "token " + i);
+        }
+        assertEquals(SECOND / 10, bucket.take(now));
+        // A refused request takes nothing
+        assertEquals(SECOND / 20, bucket.take(now + SECOND / 20));
+    }
+
+    @Test
+    void refillsAtTheRate() {
+        long now = 0;
+        RateLimitFilter.TokenBucket bucket = new RateLimitFilter.TokenBucket(10, 2, now);
+        assertEquals(0, bucket.take(now));
+        assertEquals(0, bucket.take(now));
+        assertEquals(SECOND / 10, bucket.take(now));
+
+        now += SECOND / 10;
+        assertEquals(0, bucket.take(now));
+        assertEquals(SECOND / 10, bucket.take(now));
+
+        now += 2 * SECOND / 10;
+        assertEquals(0, bucket.take(now));
+        assertEquals(0, bucket.take(now));
+        assertEquals(SECOND / 10, bucket.take(now));
+    }
+
+    @Test
+    void doesNotSaveUpBeyondTheBurst() {
+        long now = 0;
+        RateLimitFilter.TokenBucket bucket = new RateLimitFilter.TokenBucket(1, 3, now);
+
+        now += 3_600 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.take(now), "token " + i);
+        }
+        assertEquals(SECOND, bucket.take(now));
+    }
+
+    @Test
+    void handlesAClockPastLongOverflow() {
+        long now = Long.MAX_VALUE - SECOND / 2;
+        RateLimitFilter.TokenBucket bucket = new RateLimitFilter.TokenBucket(1, 1, now);
+        assertEquals(0, bucket.take(now));
+        assertEquals(SECOND, bucket.take(now));
+        assertEquals(0, bucket.take(now + SECOND));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.TasklistApi.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The audit export is compressed by the container (server.compression), exactly once, and only
+ * for clients that accept gzip. Runs against a real server, since MockMvc does not compress.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuditExportCompressionTests {
+
+    private static final String USERNAME = "export-compression-test";
+    private static final int ENTRIES = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE username = ?", USERNAME);
+    }
+
+    @Test
+    void gzipsTheExportOnceForClientsThatAcceptIt() throws Exception {
+        jdbcTemplate.update("INSERT INTO audit_logs (username, action, entity_type, entity_id, details, timestamp) " +
+                "SELECT ?, 'UPDATE', 'TASK', g, 'Updated task ' || g, now() FROM generate_series(1, ?) g",
+                USERNAME, ENTRIES);
+
+        HttpResponse<byte[]> gzipped = export("gzip");
+        assertEquals(200, gzipped.statusCode());
+        assertEquals(List.of("gzip"), gzipped.headers().allValues("Content-Encoding"));
+        assertTrue(gzipped.headers().firstValue("Content-Type").orElse("").startsWith("application/x-ndjson"));
+        assertEquals(ENTRIES, exportedEntries(gunzip(gzipped.body())));
+
+        HttpResponse<byte[]> plain = export("identity");
+        assertEquals(200, plain.statusCode());
+        assertTrue(plain.headers().allValues("Content-Encoding").isEmpty());
+        assertEquals(ENTRIES, exportedEntries(new String(plain.body(), StandardCharsets.UTF_8)));
+    }
+
+    private HttpResponse<byte[]> export(String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/audit/export"))
+                .header("Accept-Encoding", acceptEncoding)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static long exportedEntries(String ndjson) {
+        return ndjson.lines().filter(line -> line.contains("\"" + USERNAME + "\"")).count();
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.TasklistApi.repository;
+
+import com.example.TasklistApi.model.TaskStatus;
+import com.example.TasklistApi.service.AuditPartitionMaintenance;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds a realistically skewed data set, runs every selective repository query (including the
+ * single-row UPDATE/DELETE ... RETURNING writes) and asserts via EXPLAIN that none of them
+ * sequential-scans tasks or audit_logs. The SQL is captured from Hibernate, so a changed
+ * repository method or a dropped index fails the build.
+ *
+ * Queries that legitimately read the whole table (findAll, the streaming exports, the
+ * per-status and per-creator statistics) are not checked. Date range queries on audit_logs must also be pruned to
+ * the partitions of the requested months. Everything runs in one transaction that is rolled back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.example.TasklistApi.repository.QueryPlanRegressionTests$CapturingStatementInspector")
+@Transactional
+class QueryPlanRegressionTests {
+
+    private static final int TASKS = 200_000;
+    private static final int AUDIT_LOGS = 400_000;
+    // Scanning an (almost) empty partition sequentially is the right plan
+    private static final int SMALL_RELATION_ROWS = 1_000;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditPartitionMaintenance auditPartitionMaintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void taskRepositoryQueriesUseIndexes() {
+        // Negative ids stay clear of the id sequence. 90% of tasks are completed, as in production.
+        jdbcTemplate.update("INSERT INTO tasks (id, title, due_date, status, created_at, updated_at, " +
+                "created_by, last_modified_by, version) " +
+                "SELECT -g, 'Task ' || g, ? + (g % 365) * INTERVAL '1 day' + (g % 24) * INTERVAL '1 hour', " +
+                "CASE WHEN g % 100 < 90 THEN 'COMPLETED' WHEN g % 100 < 95 THEN 'PENDING' " +
+                "WHEN g % 100 < 99 THEN 'IN_PROGRESS' ELSE 'CANCELLED' END, " +
+                "now(), now() - g * INTERVAL '1 minute', 'user' || (g % 50), 'user' || (g % 50), 0 " +
+                "FROM generate_series(1, ?) g", START, TASKS);
+        jdbcTemplate.execute("ANALYZE tasks");
+        // Merges the GIN pending list the bulk insert left behind, as (auto)vacuum would
+        jdbcTemplate.queryForObject("SELECT gin_clean_pending_list('idx_tasks_search_vector')", Long.class);
+
+        LocalDateTime dueDate = START.plusDays(100);
+
+        assertUsesIndex("findById", List.of(-42L), () -> taskRepository.findById(-42L));
+        assertUsesIndex("findByStatus", List.of("CANCELLED"), () -> taskRepository.findByStatus(TaskStatus.CANCELLED));
+        assertUsesIndex("findByStatusIn", List.of("PENDING", "CANCELLED"),
+                () -> taskRepository.findByStatusIn(List.of(TaskStatus.PENDING, TaskStatus.CANCELLED)));
+        assertUsesIndex("findTasksByDateRange", List.of(dueDate, dueDate.plusDays(1)),
+                () -> taskRepository.findTasksByDateRange(dueDate, dueDate.plusDays(1)));
+        assertUsesIndex("findByStatusOrderByDueDateAsc", List.of("CANCELLED"),
+                () -> taskRepository.findByStatusOrderByDueDateAsc(TaskStatus.CANCELLED));
+
+        assertUsesIndex("findByIdGreaterThanOrderByIdAsc", List.of(-1000L, 100),
+                () -> taskRepository.findByIdGreaterThanOrderByIdAsc(-1000L, Limit.of(100)));
+        assertUsesIndex("findByStatusAndIdGreaterThanOrderByIdAsc", List.of("PENDING", -1000L, 100),
+                () -> taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(TaskStatus.PENDING, -1000L, Limit.of(100)));
+        assertUsesIndex("findAllByOrderByDueDateAscIdAsc", List.of(100),
+                () -> taskRepository.findAllByOrderByDueDateAscIdAsc(Limit.of(100)));
+        assertUsesIndex("findByStatusOrderByDueDateAscIdAsc", List.of("PENDING", 100),
+                () -> taskRepository.findByStatusOrderByDueDateAscIdAsc(TaskStatus.PENDING, Limit.of(100)));
+        assertUsesIndex("findPageOrderByDueDate", List.of(dueDate, -1000L, 100),
+                () -> taskRepository.findPageOrderByDueDate(dueDate, -1000L, Limit.of(100)));
+        assertUsesIndex("findPageByStatusOrderByDueDate", List.of("PENDING", dueDate, -1000L, 100),
+                () -> taskRepository.findPageByStatusOrderByDueDate(TaskStatus.PENDING, dueDate, -1000L, Limit.of(100)));
+        // Sparse fieldsets (?fields=) select a TaskSummary through the same indexes
+        assertUsesIndex("findSummariesByStatus", List.of("CANCELLED"),
+                () -> taskRepository.findSummariesByStatus(TaskStatus.CANCELLED));
+        assertUsesIndex("findSummaryPageByStatusOrderById", List.of("PENDING", -1000L, 100),
+                () -> taskRepository.findSummaryPageByStatusOrderById(TaskStatus.PENDING, -1000L, Limit.of(100)));
+        assertUsesIndex("findSummaryPageByStatusOrderByDueDate", List.of("PENDING", dueDate, -1000L, 100),
+                () -> taskRepository.findSummaryPageByStatusOrderByDueDate(TaskStatus.PENDING, dueDate, -1000L,
+                        Limit.of(100)));
+        assertUsesIndex("streamByStatusOrderByIdAsc", List.of("CANCELLED"), () -> {
+            try (Stream<?> tasks = taskRepository.streamByStatusOrderByIdAsc(TaskStatus.CANCELLED)) {
+                tasks.findFirst();
+            }
+        });
+
+        LocalDateTime lastSync = LocalDateTime.now().minusHours(1);
+        assertUsesIndex("findChangedSince", List.of(lastSync, -1000L, lastSync.plusMinutes(30), 100),
+                () -> taskRepository.findChangedSince(lastSync, -1000L, lastSync.plusMinutes(30), Limit.of(100)));
+
+        assertUsesIndex("findDueDateById", List.of(-42L), () -> taskRepository.findDueDateById(-42L));
+        assertUsesIndex("findVersionById", List.of(-42L), () -> taskRepository.findVersionById(-42L));
+        assertUsesIndex("findListVersion", List.of("CANCELLED"),
+                () -> taskRepository.findListVersion(TaskStatus.CANCELLED.name()));
+
+        // Statistics reconciliation of the open tasks, as of a day in the middle of the data set
+        assertUsesIndex("countOpenDueBefore", List.of(dueDate), () -> taskRepository.countOpenDueBefore(dueDate));
+        assertUsesIndex("countOpenDueByMinute", List.of(dueDate, dueDate.plusDays(1)),
+                () -> taskRepository.countOpenDueByMinute(dueDate, dueDate.plusDays(1)));
+
+        assertUsesIndex("findOpenDueBetween", List.of(dueDate, dueDate.plusDays(1)),
+                () -> taskRepository.findOpenDueBetween(dueDate, dueDate.plusDays(1)));
+
+        assertUsesIndex("search", List.of("42:*", "42:*", 20, 0),
+                () -> taskRepository.search("42:*", 20, 0));
+
+        // Single-statement writes (EXPLAIN does not run them; the executions are rolled back)
+        LocalDateTime now = LocalDateTime.now();
+        assertUsesIndex("markCompletedReturningPrevious", List.of(-42L, "user7", now),
+                () -> taskRepository.markCompletedReturningPrevious(-42L, "user7", now));
+        assertUsesIndex("updateReturningPrevious",
+                List.of(-42L, "Task 42", "details", dueDate, "PENDING", "user7", now, 1L, 1L),
+                () -> taskRepository.updateReturningPrevious(-42L, "Task 42", "details", dueDate, "PENDING",
+                        "user7", now, 1L));
+        assertUsesIndex("deleteReturning", List.of(-42L), () -> taskRepository.deleteReturning(-42L));
+    }
+
+    @Test
+    void auditLogRepositoryQueriesUseIndexes() {
+        // Appended in time order over roughly a year; deletes are rare
+        auditPartitionMaintenance.createPartitions(YearMonth.from(START), YearMonth.from(START).plusYears(1));
+        jdbcTemplate.update("INSERT INTO audit_logs (id, username, action, entity_type, entity_id, details, timestamp) " +
+                "SELECT -g, 'user' || (g % 50), " +
+                "CASE WHEN g % 100 < 50 THEN 'UPDATE' WHEN g % 100 < 89 THEN 'CREATE' " +
+                "WHEN g % 100 < 99 THEN 'COMPLETE' ELSE 'DELETE' END, " +
+                "'TASK', g % ?, 'details', ? + g * INTERVAL '78 seconds' " +
+                "FROM generate_series(1, ?) g", TASKS, START, AUDIT_LOGS);
+        jdbcTemplate.execute("ANALYZE audit_logs");
+
+        LocalDateTime from = START.plusDays(200);
+
+        assertUsesIndex("findByUsername", List.of("user7"), () -> auditLogRepository.findByUsername("user7"));
+        assertUsesIndex("findByEntityTypeAndEntityId", List.of("TASK", 42L),
+                () -> auditLogRepository.findByEntityTypeAndEntityId("TASK", 42L));
+        assertUsesIndex("findByAction", List.of("DELETE"), () -> auditLogRepository.findByAction("DELETE"));
+        assertUsesIndex("findByTimestampBetween", List.of(from, from.plusHours(6)),
+                () -> auditLogRepository.findByTimestampBetween(from, from.plusHours(6)));
+        assertUsesIndex("streamByTimestampBetweenOrderByTimestampAsc", List.of(from, from.plusHours(6)), () -> {
+            try (Stream<?> auditLogs = auditLogRepository.streamByTimestampBetweenOrderByTimestampAsc(from, from.plusHours(6))) {
+                auditLogs.findFirst();
+            }
+        });
+
+        assertUsesIndex("findTaskChangesBetween", List.of(-1000L, -500L, 100),
+                () -> auditLogRepository.findTaskChangesBetween(-1000L, -500L, Limit.of(100)));
+
+        assertUsesIndex("findDeletedTaskIds", List.of(from, from.plusHours(6)),
+                () -> auditLogRepository.findDeletedTaskIds(from, from.plusHours(6)));
+
+        // The AuditController date range endpoint goes through findByTimestampBetween
+        assertScans("findByTimestampBetween", List.of(from, from.plusHours(6)),
+                () -> auditLogRepository.findByTimestampBetween(from, from.plusHours(6)),
+                Set.of("audit_logs_y2025m07"));
+        assertScans("findByTimestampBetween", List.of(from.minusDays(20), from.plusDays(20)),
+                () -> auditLogRepository.findByTimestampBetween(from.minusDays(20), from.plusDays(20)),
+                Set.of("audit_logs_y2025m06", "audit_logs_y2025m07", "audit_logs_y2025m08"));
+    }
+
+    private void assertUsesIndex(String query, List<Object> parameters, Runnable execution) {
+        for (String sql : capture(query, execution)) {
+            JsonNode plan = explain(bind(sql, parameters));
+            List<String> sequentialScans = new ArrayList<>();
+            collectSequentialScans(plan, sequentialScans);
+            assertTrue(sequentialScans.isEmpty(), query + " sequential-scans " + sequentialScans + ":\n"
+                    + sql + "\n" + plan.toPrettyString());
+        }
+    }
+
+    private void assertScans(String query, List<Object> parameters, Runnable execution, Set<String> relations) {
+        for (String sql : capture(query, execution)) {
+            JsonNode plan = explain(bind(sql, parameters));
+            List<String> scanned = new ArrayList<>();
+            collectRelations(plan, scanned);
+            assertEquals(relations, Set.copyOf(scanned), query + " is not pruned:\n" + plan.toPrettyString());
+        }
+    }
+
+    private List<String> capture(String query, Runnable execution) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        CapturingStatementInspector.capturing = Thread.currentThread();
+        try {
+            execution.run();
+        } finally {
+            CapturingStatementInspector.capturing = null;
+        }
+        List<String> statements = new ArrayList<>(CapturingStatementInspector.STATEMENTS);
+        assertFalse(statements.isEmpty(), query + " did not execute any SQL");
+        return statements;
+    }
+
+    // Inline the parameters so the planner sees the same values a custom plan would
+    private String bind(String sql, List<Object> parameters) {
+        StringBuilder bound = new StringBuilder();
+        int next = 0;
+        for (char c : sql.toCharArray()) {
+            if (c != '?') {
+                bound.append(c);
+                continue;
+            }
+            Object parameter = parameters.get(next++);
+            if (parameter instanceof Number) {
+                bound.append(parameter);
+            } else if (parameter instanceof LocalDateTime dateTime) {
+                bound.append("TIMESTAMP '").append(TIMESTAMP.format(dateTime)).append('\'');
+            } else {
+                bound.append('\'').append(parameter.toString().replace("'", "''")).append('\'');
+            }
+        }
+        assertTrue(next == parameters.size(), "Unused parameters for: " + sql);
+        return bound.toString();
+    }
+
+    private JsonNode explain(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        try {
+            return objectMapper.readTree(plan).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan for: " + sql, e);
+        }
+    }
+
+    private void collectSequentialScans(JsonNode node, List<String> sequentialScans) {
+        String relation = node.path("Relation Name").asText();
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && (relation.startsWith("tasks") || relation.startsWith("audit_logs"))
+                && estimatedRows(relation) >= SMALL_RELATION_ROWS) {
+            sequentialScans.add(relation);
+        }
+        node.path("Plans").forEach(child -> collectSequentialScans(child, sequentialScans));
+    }
+
+    private float estimatedRows(String relation) {
+        return jdbcTemplate.queryForObject("SELECT reltuples FROM pg_class WHERE oid = to_regclass(?)",
+                Float.class, relation);
+    }
+
+    private void collectRelations(JsonNode node, List<String> relations) {
+        if (node.has("Relation Name")) {
+            relations.add(node.get("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collectRelations(child, relations));
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        // Only the test thread, not scheduled jobs such as the statistics reconciliation
+        static volatile Thread capturing;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == capturing && Stream.of("select", "with", "update", "delete")
+                    .anyMatch(statement -> sql.regionMatches(true, 0, statement, 0, statement.length()))) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
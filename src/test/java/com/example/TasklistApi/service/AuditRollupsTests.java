@@ -0,0 +1,59 @@
+package com.example.TasklistApi.service;
+
+import com.example.TasklistApi.dto.AuditStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The range GET /api/audit/stats answers for: whole buckets only, reported as such when the
+ * bounds asked for fall inside a bucket. Runs in one transaction that is rolled back.
+ */
+@SpringBootTest
+@Transactional
+class AuditRollupsTests {
+
+    private static final LocalDateTime TEN = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    private AuditRollups auditRollups;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void roundsAToInsideABucketUpToTheEndOfThatBucket() {
+        jdbcTemplate.update("INSERT INTO audit_rollup_hourly (bucket, username, action, count) VALUES " +
+                "(?, 'alice', 'CREATE', 3), (?, 'alice', 'CREATE', 5), (?, 'alice', 'CREATE', 7)",
+                TEN.minusHours(1), TEN, TEN.plusHours(1));
+
+        AuditStats stats = auditRollups.getStats(AuditRollups.GroupBy.USER, AuditRollups.Bucket.HOUR,
+                TEN.plusMinutes(15), TEN.plusMinutes(30));
+
+        assertEquals(TEN, stats.getFrom());
+        assertEquals(TEN.plusHours(1), stats.getTo(), "the reported range is the one counted");
+        assertEquals(List.of(TEN), stats.getBuckets().stream().map(AuditStats.Bucket::getStart).toList());
+        assertEquals(Map.of("alice", 5L), stats.getBuckets().get(0).getCounts());
+    }
+
+    @Test
+    void leavesABucketAlignedToAsItIs() {
+        jdbcTemplate.update("INSERT INTO audit_rollup_hourly (bucket, username, action, count) VALUES " +
+                "(?, 'bob', 'UPDATE', 2), (?, 'bob', 'UPDATE', 4)", TEN, TEN.plusHours(1));
+
+        AuditStats stats = auditRollups.getStats(AuditRollups.GroupBy.ACTION, AuditRollups.Bucket.HOUR,
+                TEN, TEN.plusHours(1));
+
+        assertEquals(TEN.plusHours(1), stats.getTo());
+        assertEquals(1, stats.getBuckets().size());
+        assertEquals(Map.of("UPDATE", 2L), stats.getBuckets().get(0).getCounts());
+    }
+}